@@ -0,0 +1,49 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.dto.GetAllEmployeesResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of binding the upstream get-all payload into GetAllEmployeesResponseDto, using an ObjectMapper
+ * configured the same way Spring Boot configures the one RestTemplate uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EmployeeDeserializationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int employeeCount;
+
+    private byte[] payload;
+
+    private ObjectReader reader;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new ParameterNamesModule()).build();
+        payload = objectMapper.writeValueAsBytes(
+                new GetAllEmployeesResponseDto("success", SyntheticEmployees.generate(employeeCount)));
+        reader = objectMapper.readerFor(GetAllEmployeesResponseDto.class);
+    }
+
+    @Benchmark
+    public GetAllEmployeesResponseDto deserializeGetAllEmployees() throws IOException {
+        return reader.readValue(payload);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.model.Employee;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization CPU and bytes on the wire of a get-all response in each encoding the API negotiates, with and
+ * without gzip. The encoded size of every combination is printed once per trial so both can be compared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EmployeeEncodingBenchmark {
+
+    @Param({"1000", "100000"})
+    private int employeeCount;
+
+    @Param({"json", "json-gzip", "smile", "smile-gzip", "cbor", "cbor-gzip"})
+    private String encoding;
+
+    private List<Employee> employees;
+
+    private ObjectWriter writer;
+
+    private ObjectReader reader;
+
+    private boolean gzip;
+
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        employees = SyntheticEmployees.generate(employeeCount);
+        gzip = encoding.endsWith("-gzip");
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().factory(factoryFor(encoding)).build();
+        writer = objectMapper.writerFor(Employee[].class);
+        reader = objectMapper.readerFor(Employee[].class);
+        payload = encode();
+        System.out.println(encoding + " x " + employeeCount + " employees: " + payload.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            writer.writeValue(out, employees.toArray(new Employee[0]));
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public Employee[] decode() throws IOException {
+        try (InputStream in = gzip ? new GZIPInputStream(new ByteArrayInputStream(payload)) : new ByteArrayInputStream(payload)) {
+            return reader.readValue(in);
+        }
+    }
+
+    private static JsonFactory factoryFor(String encoding) {
+        if (encoding.startsWith("smile")) {
+            return SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build();
+        }
+        if (encoding.startsWith("cbor")) {
+            return new CBORFactory();
+        }
+        return new JsonFactory();
+    }
+}
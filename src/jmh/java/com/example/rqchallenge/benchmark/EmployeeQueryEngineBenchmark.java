@@ -0,0 +1,96 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.query.EmployeeQueryEngine;
+import com.example.rqchallenge.store.EmployeeColumns;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+
+/**
+ * Sequential against fork-join execution of the query engine across roster sizes, to locate the row count
+ * where splitting starts to pay off and tune employeeQuery.parallelThreshold from it.
+ *
+ * Run with: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeQueryEngineBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int employeeCount;
+
+    @Param({"sequential", "parallel"})
+    private String mode;
+
+    private AnnotationConfigApplicationContext context;
+
+    private EmployeeQueryEngine queryEngine;
+
+    private EmployeeColumns columns;
+
+    private IntPredicate salaryBand;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        columns = EmployeeColumns.build(1, SyntheticEmployees.generate(employeeCount));
+        salaryBand = row -> columns.hasSalary(row) && columns.salary(row) >= 100000 && columns.salary(row) < 200000;
+
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "employeeQuery.parallelThreshold", "sequential".equals(mode) ? String.valueOf(Integer.MAX_VALUE) : "0"
+        )));
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.register(EmployeeQueryEngine.class);
+        context.refresh();
+
+        queryEngine = context.getBean(EmployeeQueryEngine.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int[] filterSalaryBand() {
+        return queryEngine.filter(columns, salaryBand);
+    }
+
+    @Benchmark
+    public int[] topTenInSalaryBand() {
+        return queryEngine.topBySalary(columns, salaryBand, 10);
+    }
+
+    @Benchmark
+    public long sumSalaries() {
+        return queryEngine.aggregate(
+                columns,
+                () -> new long[1],
+                (sum, row) -> {
+                    if (columns.hasSalary(row)) {
+                        sum[0] += columns.salary(row);
+                    }
+                },
+                (left, right) -> {
+                    left[0] += right[0];
+                    return left;
+                }
+        )[0];
+    }
+}
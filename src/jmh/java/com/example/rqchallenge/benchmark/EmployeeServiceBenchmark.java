@@ -0,0 +1,107 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.analytics.SalaryAnalytics;
+import com.example.rqchallenge.cache.EmployeeSnapshotCache;
+import com.example.rqchallenge.client.EmployeeClient;
+import com.example.rqchallenge.client.StubEmployeeClient;
+import com.example.rqchallenge.index.EmployeeSortIndex;
+import com.example.rqchallenge.index.NameIndex;
+import com.example.rqchallenge.index.SalaryIndex;
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.query.EmployeeQueryEngine;
+import com.example.rqchallenge.service.IEmployeeService;
+import com.example.rqchallenge.service.impl.EmployeeService;
+import com.example.rqchallenge.store.ColumnarEmployeeStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the EmployeeService read paths over a warm snapshot cache.
+ * The service is wired by Spring exactly as in the application, with the upstream replaced by a stub client.
+ *
+ * Run with: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int employeeCount;
+
+    private AnnotationConfigApplicationContext context;
+
+    private IEmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<Employee> employees = SyntheticEmployees.generate(employeeCount);
+
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "employeeCache.ttlMillis", String.valueOf(Long.MAX_VALUE / 2)
+        )));
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.registerBean(ObjectMapper.class, () -> Jackson2ObjectMapperBuilder.json().modulesToInstall(new ParameterNamesModule()).build());
+        context.registerBean(RestTemplate.class, RestTemplate::new);
+        context.registerBean(CircuitBreakerRegistry.class, CircuitBreakerRegistry::ofDefaults);
+        context.registerBean(BulkheadRegistry.class, BulkheadRegistry::ofDefaults);
+        context.registerBean(EmployeeClient.class, () -> new StubEmployeeClient(employees));
+        context.register(EmployeeSnapshotCache.class, SalaryIndex.class, NameIndex.class, EmployeeSortIndex.class,
+                ColumnarEmployeeStore.class, EmployeeQueryEngine.class, SalaryAnalytics.class, EmployeeService.class);
+        context.refresh();
+
+        employeeService = context.getBean(IEmployeeService.class);
+        // load the snapshot and build every index before measuring
+        employeeService.getAllEmployees();
+        employeeService.getEmployeesByNames("Marson");
+        employeeService.getHighestSalary();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Employee> getEmployeesByNames() {
+        return employeeService.getEmployeesByNames("Marson");
+    }
+
+    @Benchmark
+    public List<Employee> getEmployeesByNamesIgnoreCasePrefix() {
+        return employeeService.getEmployeesByNames("alex m", true, true);
+    }
+
+    @Benchmark
+    public Integer getHighestSalary() {
+        return employeeService.getHighestSalary();
+    }
+
+    @Benchmark
+    public List<String> getTopTenHighestEarningEmployeeNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames();
+    }
+}
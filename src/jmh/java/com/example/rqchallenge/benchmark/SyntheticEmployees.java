@@ -0,0 +1,45 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.model.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic rosters, so every run and every fork benchmarks the same data.
+ */
+final class SyntheticEmployees {
+
+    private static final String[] FIRST_NAMES = {
+            "Alex", "Andres", "Ryan", "Tiger", "Garrett", "Ashton", "Cedric", "Airi", "Brielle", "Herrod",
+            "Rhona", "Colleen", "Sonya", "Jena", "Quinn", "Charde", "Haley", "Tatyana", "Michael", "Paul",
+            "Gloria", "Bradley", "Dai", "Jenette", "Yuri", "Caesar", "Doris", "Angelica", "Gavin", "Jennifer"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Marson", "Gosling", "Nixon", "Winters", "Cox", "Kelly", "Satou", "Williamson", "Chandler", "Davidson",
+            "Hurst", "Frost", "Gaines", "Flynn", "Marshall", "Kennedy", "Fitzpatrick", "Silva", "Little", "Greer",
+            "Byrd", "Wilder", "Rios", "Caldwell", "Berry", "Vance", "Ramos", "Joyce", "Chang", "Acosta"
+    };
+
+    private SyntheticEmployees() {
+    }
+
+    static List<Employee> generate(int count) {
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + i;
+            employees.add(new Employee(
+                    String.valueOf(i + 1),
+                    name,
+                    20000 + random.nextInt(480000),
+                    18 + random.nextInt(50),
+                    ""
+            ));
+        }
+        return employees;
+    }
+}
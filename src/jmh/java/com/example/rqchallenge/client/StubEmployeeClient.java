@@ -0,0 +1,36 @@
+package com.example.rqchallenge.client;
+
+import com.example.rqchallenge.model.Employee;
+
+import java.util.List;
+
+/**
+ * EmployeeClient that serves a fixed in-memory roster instead of calling the upstream service,
+ * so benchmarks only measure the query paths behind it.
+ */
+public class StubEmployeeClient extends EmployeeClient {
+
+    private final List<Employee> employees;
+
+    public StubEmployeeClient(List<Employee> employees) {
+        this.employees = employees;
+    }
+
+    @Override
+    void init() {
+        // no upstream, nothing to set up
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return employees;
+    }
+
+    @Override
+    public Employee getSingleEmployee(String id) {
+        return employees.stream()
+                .filter(employee -> id.equals(employee.getId()))
+                .findFirst()
+                .orElse(null);
+    }
+}
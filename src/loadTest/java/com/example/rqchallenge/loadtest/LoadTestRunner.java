@@ -0,0 +1,232 @@
+package com.example.rqchallenge.loadtest;
+
+import com.example.rqchallenge.RqChallengeApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Starts the real application against a local {@link StubEmployeeServer} and drives every endpoint of
+ * IEmployeeController in turn at a fixed request rate, recording an HdrHistogram per endpoint.
+ *
+ * Load is open-loop: each request is timed from the moment it was scheduled to be sent, not from when it was
+ * actually sent, so a slow server shows up as latency instead of silently lowering the offered rate.
+ *
+ * Run with: ./gradlew loadTestRun -Dloadtest.rps=200 -Dloadtest.durationSeconds=30 -Dloadtest.latencyMillis=50
+ * Application properties can be overridden with a loadtest.app. prefix, e.g. -Dloadtest.app.virtualThreads.enabled=true
+ */
+public class LoadTestRunner {
+
+    private static final String APP_PROPERTY_PREFIX = "loadtest.app.";
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final String baseUrl;
+    private final int rps;
+    private final int durationSeconds;
+    private final int employeeCount;
+
+    private LoadTestRunner(String baseUrl, int rps, int durationSeconds, int employeeCount) {
+        this.baseUrl = baseUrl;
+        this.rps = rps;
+        this.durationSeconds = durationSeconds;
+        this.employeeCount = employeeCount;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rps = Integer.getInteger("loadtest.rps", 100);
+        int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 20);
+        int employeeCount = Integer.getInteger("loadtest.employeeCount", 1000);
+        long latencyMillis = Long.getLong("loadtest.latencyMillis", 50);
+        double errorRate = Double.parseDouble(System.getProperty("loadtest.errorRate", "0"));
+        int profileImageBytes = Integer.getInteger("loadtest.profileImageBytes", 0);
+        Set<String> endpoints = Arrays.stream(System.getProperty("loadtest.endpoints", "").split(","))
+                .map(String::trim)
+                .filter(endpoint -> !endpoint.isEmpty())
+                .collect(Collectors.toSet());
+        Path reportDir = Path.of(System.getProperty("loadtest.reportDir", "build/reports/loadtest"));
+
+        try (StubEmployeeServer stub = new StubEmployeeServer(latencyMillis, employeeCount, errorRate, profileImageBytes);
+             ConfigurableApplicationContext app = startApplication(stub.getHost())) {
+            String baseUrl = "http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port");
+            System.out.printf("Upstream latency %d ms, error rate %.3f, %d employees, %d RPS for %d s per endpoint%n",
+                    latencyMillis, errorRate, employeeCount, rps, durationSeconds);
+
+            LoadTestRunner runner = new LoadTestRunner(baseUrl, rps, durationSeconds, employeeCount);
+            Map<String, IntFunction<HttpRequest>> scenarios = runner.scenarios();
+            Files.createDirectories(reportDir);
+            System.out.printf("%-36s %8s %8s %9s %9s %9s %9s %9s%n",
+                    "endpoint", "requests", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            for (Map.Entry<String, IntFunction<HttpRequest>> scenario : scenarios.entrySet()) {
+                if (endpoints.isEmpty() || endpoints.contains(scenario.getKey())) {
+                    runner.run(scenario.getKey(), scenario.getValue(), reportDir);
+                }
+            }
+            System.out.println("Histograms written to " + reportDir.toAbsolutePath());
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(String stubHost) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", "0");
+        properties.put("dummyService.host", stubHost);
+        System.getProperties().forEach((key, value) -> {
+            String name = key.toString();
+            if (name.startsWith(APP_PROPERTY_PREFIX)) {
+                properties.put(name.substring(APP_PROPERTY_PREFIX.length()), value);
+            }
+        });
+        SpringApplication application = new SpringApplication(RqChallengeApplication.class);
+        application.setDefaultProperties(properties);
+        return application.run();
+    }
+
+    private Map<String, IntFunction<HttpRequest>> scenarios() throws IOException, InterruptedException {
+        Map<String, IntFunction<HttpRequest>> scenarios = new LinkedHashMap<>();
+        scenarios.put("getAllEmployees", i -> get("/"));
+        scenarios.put("streamAllEmployees", i -> get("/stream?format=ndjson"));
+        scenarios.put("getEmployeesByNameSearch", i -> get("/search/Employee%20" + (1 + i % 9)));
+        scenarios.put("getEmployeeById", i -> get("/" + randomId()));
+        scenarios.put("getHighestSalaryOfEmployees", i -> get("/highestSalary"));
+        scenarios.put("getTopTenHighestEarningEmployeeNames", i -> get("/topTenHighestEarningEmployeeNames"));
+        scenarios.put("getTopHighestEarningEmployeeNames", i -> get("/topHighestEarningEmployeeNames?n=50"));
+        scenarios.put("queryEmployees", i -> get("/query?salaryMin=" + (1000 * (i % 50)) + "&salaryMax=" + (1000 * (i % 50) + 50000)
+                + "&ageMin=20&ageMax=60&sort=-salary&limit=50"));
+        scenarios.put("getSalaryStatistics", i -> get("/salaryStatistics"));
+        scenarios.put("getSalaryHistogram", i -> get("/salaryHistogram?buckets=20"));
+        scenarios.put("getSalaryByAgeBand", i -> get("/salaryByAgeBand?bandWidth=5"));
+        scenarios.put("createEmployee", i -> post("/", "{\"name\":\"Load Test " + i + "\",\"salary\":\"50000\",\"age\":\"30\"}"));
+        scenarios.put("createEmployeeAsync", i -> postAsync("/", "{\"name\":\"Load Test Async " + i + "\",\"salary\":\"50000\",\"age\":\"30\"}"));
+        List<String> trackingIds = submitAsyncCreates(100);
+        if (!trackingIds.isEmpty()) {
+            scenarios.put("getCreateStatus", i -> get("/creates/" + trackingIds.get(i % trackingIds.size())));
+        }
+        scenarios.put("deleteEmployeeById", i -> request("DELETE", "/" + randomId(), null));
+        scenarios.put("createEmployees", i -> post("/bulk",
+                "[{\"name\":\"Bulk A " + i + "\",\"salary\":\"50000\",\"age\":\"30\"},"
+                        + "{\"name\":\"Bulk B " + i + "\",\"salary\":\"60000\",\"age\":\"40\"}]"));
+        scenarios.put("deleteEmployeesByIds", i -> request("DELETE", "/bulk", "[\"" + randomId() + "\",\"" + randomId() + "\"]"));
+        return scenarios;
+    }
+
+    /**
+     * Submits creates with Prefer: respond-async up front so the status endpoint is polled for tracking ids that
+     * exist. Returns nothing when the application answers synchronously, i.e. async creates are disabled.
+     */
+    private List<String> submitAsyncCreates(int count) throws IOException, InterruptedException {
+        List<String> trackingIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            HttpResponse<String> response = httpClient.send(
+                    postAsync("/", "{\"name\":\"Load Test Tracked " + i + "\",\"salary\":\"50000\",\"age\":\"30\"}"),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 202) {
+                System.out.println("Async creates are not enabled, skipping getCreateStatus");
+                return List.of();
+            }
+            trackingIds.add(response.body());
+        }
+        return trackingIds;
+    }
+
+    private void run(String name, IntFunction<HttpRequest> requests, Path reportDir) throws IOException {
+        int total = rps * durationSeconds;
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rps;
+        Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+        AtomicLong errors = new AtomicLong();
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>(total);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.add(httpClient.sendAsync(requests.apply(i), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        histogram.recordValue(Math.min(System.nanoTime() - intendedStart, HIGHEST_TRACKABLE_NANOS));
+                        if (error != null || response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).join();
+
+        System.out.printf("%-36s %8d %8d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                name,
+                histogram.getTotalCount(),
+                errors.get(),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+        try (PrintStream out = new PrintStream(Files.newOutputStream(reportDir.resolve(name + ".hgrm")))) {
+            histogram.outputPercentileDistribution(out, 1_000_000.0);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return request("GET", path, null);
+    }
+
+    private HttpRequest post(String path, String json) {
+        return request("POST", path, json);
+    }
+
+    private HttpRequest postAsync(String path, String json) {
+        return builder("POST", path, json).header("Prefer", "respond-async").build();
+    }
+
+    private HttpRequest request(String method, String path, String json) {
+        return builder(method, path, json).build();
+    }
+
+    private HttpRequest.Builder builder(String method, String path, String json) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (json == null) {
+            return builder.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private String randomId() {
+        return String.valueOf(1 + ThreadLocalRandom.current().nextInt(employeeCount));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.rqchallenge.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local stand-in for the dummy employee API. Responses are written from a scheduler after the
+ * configured latency, so thousands of slow calls can be in flight without a thread per call.
+ * A configurable fraction of calls fail with a 500, and profile images can be padded to grow the payload.
+ */
+public class StubEmployeeServer implements AutoCloseable {
+
+    private static final byte[] ERROR_BODY =
+            "{\"status\":\"error\",\"message\":\"Stubbed upstream failure\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ScheduledExecutorService responder;
+    private final long latencyMillis;
+    private final double errorRate;
+    private final String profileImage;
+    private final byte[] allEmployeesBody;
+
+    public StubEmployeeServer(long latencyMillis, int employeeCount) throws IOException {
+        this(latencyMillis, employeeCount, 0, 0);
+    }
+
+    public StubEmployeeServer(long latencyMillis, int employeeCount, double errorRate, int profileImageBytes) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.errorRate = errorRate;
+        this.profileImage = "x".repeat(profileImageBytes);
+        this.allEmployeesBody = allEmployeesJson(employeeCount).getBytes(StandardCharsets.UTF_8);
+        this.responder = Executors.newScheduledThreadPool(4);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 20000);
+        server.createContext("/api/v1/employees", exchange -> respondLater(exchange, allEmployeesBody));
+        server.createContext("/api/v1/employee/", exchange -> respondLater(exchange, singleEmployeeJson(idFrom(exchange)).getBytes(StandardCharsets.UTF_8)));
+        server.createContext("/api/v1/create", exchange -> respondLater(exchange, singleEmployeeJson("1").getBytes(StandardCharsets.UTF_8)));
+        server.createContext("/api/v1/delete/", exchange -> respondLater(exchange,
+                ("{\"status\":\"success\",\"data\":\"" + idFrom(exchange) + "\",\"message\":\"successfully! deleted Record\"}").getBytes(StandardCharsets.UTF_8)));
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+    }
+
+    public String getHost() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        responder.shutdownNow();
+    }
+
+    private void respondLater(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        boolean fail = errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+        int status = fail ? 500 : 200;
+        byte[] responseBody = fail ? ERROR_BODY : body;
+        responder.schedule(() -> respond(exchange, status, responseBody), latencyMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body) {
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            out.write(body);
+        } catch (IOException e) {
+            exchange.close();
+        }
+    }
+
+    private static String idFrom(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private String singleEmployeeJson(String id) {
+        return "{\"status\":\"success\",\"data\":" + employeeJson(id) + "}";
+    }
+
+    private String allEmployeesJson(int employeeCount) {
+        StringBuilder json = new StringBuilder("{\"status\":\"success\",\"data\":[");
+        for (int i = 1; i <= employeeCount; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append(employeeJson(String.valueOf(i)));
+        }
+        return json.append("]}").toString();
+    }
+
+    private String employeeJson(String id) {
+        int seed = Math.abs(id.hashCode());
+        return "{\"id\":\"" + id + "\",\"employee_name\":\"Employee " + id + "\",\"employee_salary\":\""
+                + (20000 + seed % 300000) + "\",\"employee_age\":\"" + (20 + seed % 45) + "\",\"profile_image\":\"" + profileImage + "\"}";
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.rqchallenge.loadtest;
+
+import com.example.rqchallenge.config.VirtualThreads;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Issues N concurrent blocking RestTemplate calls against a slow local stub, once from a fixed
+ * platform thread pool sized like Tomcat's default worker pool and once from virtual threads.
+ *
+ * Run with: ./gradlew threadModelBenchmark -Dbenchmark.concurrency=1000,10000 -Dbenchmark.latencyMillis=200
+ */
+public class ThreadModelBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int[] concurrencyLevels = Arrays.stream(System.getProperty("benchmark.concurrency", "1000,10000").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        long latencyMillis = Long.getLong("benchmark.latencyMillis", 200);
+        int platformThreads = Integer.getInteger("benchmark.platformThreads", 200);
+
+        try (StubEmployeeServer stub = new StubEmployeeServer(latencyMillis, 10)) {
+            RestTemplate restTemplate = new RestTemplate();
+            String url = stub.getHost() + "/api/v1/employee/1";
+            System.out.printf("Upstream latency %d ms, Java %s%n", latencyMillis, Runtime.version());
+            System.out.printf("%-15s %8s %10s %12s %9s %9s %9s %8s%n",
+                    "mode", "calls", "wall ms", "calls/sec", "p50 ms", "p99 ms", "max ms", "errors");
+            for (int concurrency : concurrencyLevels) {
+                run("platform-" + platformThreads, Executors.newFixedThreadPool(platformThreads), concurrency, restTemplate, url);
+                Optional<ExecutorService> virtualExecutor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+                if (virtualExecutor.isPresent()) {
+                    run("virtual", virtualExecutor.get(), concurrency, restTemplate, url);
+                } else {
+                    System.out.printf("%-15s %8d   skipped, virtual threads need Java 21+%n", "virtual", concurrency);
+                }
+            }
+        }
+    }
+
+    private static void run(String mode, ExecutorService executor, int calls, RestTemplate restTemplate, String url)
+            throws InterruptedException {
+        long[] latencies = new long[calls];
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(calls);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            int call = i;
+            executor.execute(() -> {
+                long callStart = System.nanoTime();
+                try {
+                    restTemplate.getForObject(url, String.class);
+                } catch (RuntimeException e) {
+                    errors.incrementAndGet();
+                }
+                latencies[call] = System.nanoTime() - callStart;
+                done.countDown();
+            });
+        }
+        done.await();
+        long wallNanos = System.nanoTime() - start;
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        Arrays.sort(latencies);
+        System.out.printf("%-15s %8d %10d %12.0f %9.1f %9.1f %9.1f %8d%n",
+                mode,
+                calls,
+                TimeUnit.NANOSECONDS.toMillis(wallNanos),
+                calls / (wallNanos / 1_000_000_000.0),
+                latencies[calls / 2] / 1_000_000.0,
+                latencies[(int) Math.min(calls - 1, Math.ceil(calls * 0.99) - 1)] / 1_000_000.0,
+                latencies[calls - 1] / 1_000_000.0,
+                errors.get());
+    }
+}
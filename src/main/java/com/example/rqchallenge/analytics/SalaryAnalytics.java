@@ -0,0 +1,212 @@
+package com.example.rqchallenge.analytics;
+
+import com.example.rqchallenge.cache.EmployeeSnapshot;
+import com.example.rqchallenge.cache.EmployeeSnapshotListener;
+import com.example.rqchallenge.model.AgeBandSalary;
+import com.example.rqchallenge.model.SalaryHistogramBucket;
+import com.example.rqchallenge.model.SalaryStatistics;
+import com.example.rqchallenge.query.EmployeeQueryEngine;
+import com.example.rqchallenge.store.ColumnarEmployeeStore;
+import com.example.rqchallenge.store.EmployeeColumns;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Salary aggregates over the columnar copy of the current snapshot.
+ * Each aggregate is computed in one pass over the salary and age columns by the query engine, which splits
+ * large snapshots across its own pool, and memoized until the snapshot version changes.
+ */
+@Component
+public class SalaryAnalytics implements EmployeeSnapshotListener {
+
+    @Autowired
+    private ColumnarEmployeeStore columnarEmployeeStore;
+
+    @Autowired
+    private EmployeeQueryEngine employeeQueryEngine;
+
+    private volatile Results results = new Results(-1);
+
+    @Override
+    public void onSnapshotLoaded(EmployeeSnapshot snapshot) {
+        results = new Results(snapshot.getVersion());
+    }
+
+    public SalaryStatistics statistics(EmployeeSnapshot snapshot) {
+        Results current = resultsFor(snapshot);
+        SalaryStatistics statistics = current.statistics;
+        if (statistics == null) {
+            statistics = computeStatistics(columnarEmployeeStore.columnsFor(snapshot));
+            current.statistics = statistics;
+        }
+        return statistics;
+    }
+
+    public List<SalaryHistogramBucket> histogram(EmployeeSnapshot snapshot, int buckets) {
+        SalaryStatistics statistics = statistics(snapshot);
+        return resultsFor(snapshot).histograms.computeIfAbsent(
+                buckets,
+                key -> computeHistogram(columnarEmployeeStore.columnsFor(snapshot), statistics, key)
+        );
+    }
+
+    public List<AgeBandSalary> ageBands(EmployeeSnapshot snapshot, int bandWidth) {
+        return resultsFor(snapshot).ageBands.computeIfAbsent(
+                bandWidth,
+                key -> computeAgeBands(columnarEmployeeStore.columnsFor(snapshot), key)
+        );
+    }
+
+    private Results resultsFor(EmployeeSnapshot snapshot) {
+        Results current = results;
+        if (current.version == snapshot.getVersion()) {
+            return current;
+        }
+        Results rebuilt = new Results(snapshot.getVersion());
+        results = rebuilt;
+        return rebuilt;
+    }
+
+    private SalaryStatistics computeStatistics(EmployeeColumns columns) {
+        SalaryMoments moments = employeeQueryEngine.aggregate(
+                columns,
+                SalaryMoments::new,
+                (accumulator, row) -> {
+                    if (columns.hasSalary(row)) {
+                        accumulator.add(columns.salary(row));
+                    }
+                },
+                SalaryMoments::merge
+        );
+        if (moments.count == 0) {
+            return new SalaryStatistics(0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        return new SalaryStatistics(
+                moments.count,
+                moments.min,
+                moments.max,
+                moments.mean,
+                Math.sqrt(moments.m2 / moments.count),
+                columns.salaryPercentile(50),
+                columns.salaryPercentile(90),
+                columns.salaryPercentile(99)
+        );
+    }
+
+    private List<SalaryHistogramBucket> computeHistogram(EmployeeColumns columns, SalaryStatistics statistics, int buckets) {
+        if (statistics.getCount() == 0) {
+            return Collections.emptyList();
+        }
+        long min = statistics.getMin();
+        long width = Math.max(1, (statistics.getMax() - min + buckets) / buckets);
+        long[] counts = employeeQueryEngine.aggregate(
+                columns,
+                () -> new long[buckets],
+                (accumulator, row) -> {
+                    if (columns.hasSalary(row)) {
+                        accumulator[(int) Math.min(buckets - 1, (columns.salary(row) - min) / width)]++;
+                    }
+                },
+                (left, right) -> {
+                    for (int i = 0; i < buckets; i++) {
+                        left[i] += right[i];
+                    }
+                    return left;
+                }
+        );
+        List<SalaryHistogramBucket> histogram = new ArrayList<>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            long lowerBound = min + i * width;
+            histogram.add(new SalaryHistogramBucket(lowerBound, lowerBound + width - 1, counts[i]));
+        }
+        return Collections.unmodifiableList(histogram);
+    }
+
+    private List<AgeBandSalary> computeAgeBands(EmployeeColumns columns, int bandWidth) {
+        TreeMap<Integer, SalaryMoments> bands = employeeQueryEngine.aggregate(
+                columns,
+                TreeMap::new,
+                (accumulator, row) -> {
+                    if (columns.hasSalary(row) && columns.hasAge(row)) {
+                        accumulator.computeIfAbsent(Math.floorDiv(columns.age(row), bandWidth), band -> new SalaryMoments())
+                                .add(columns.salary(row));
+                    }
+                },
+                (left, right) -> {
+                    right.forEach((band, moments) -> left.merge(band, moments, SalaryMoments::merge));
+                    return left;
+                }
+        );
+        List<AgeBandSalary> ageBands = new ArrayList<>(bands.size());
+        bands.forEach((band, moments) -> ageBands.add(new AgeBandSalary(
+                band * bandWidth,
+                band * bandWidth + bandWidth - 1,
+                moments.count,
+                moments.min,
+                moments.max,
+                moments.mean
+        )));
+        return Collections.unmodifiableList(ageBands);
+    }
+
+    /**
+     * Count, extremes and running mean / sum of squared deviations, merged pairwise so that
+     * partial results from different threads combine without losing precision.
+     */
+    private static final class SalaryMoments {
+        private long count;
+        private int min = Integer.MAX_VALUE;
+        private int max = Integer.MIN_VALUE;
+        private double mean;
+        private double m2;
+
+        private void add(int salary) {
+            count++;
+            min = Math.min(min, salary);
+            max = Math.max(max, salary);
+            double delta = salary - mean;
+            mean += delta / count;
+            m2 += delta * (salary - mean);
+        }
+
+        private SalaryMoments merge(SalaryMoments other) {
+            if (other.count == 0) {
+                return this;
+            }
+            if (count == 0) {
+                count = other.count;
+                min = other.min;
+                max = other.max;
+                mean = other.mean;
+                m2 = other.m2;
+                return this;
+            }
+            long total = count + other.count;
+            double delta = other.mean - mean;
+            mean += delta * other.count / total;
+            m2 += other.m2 + delta * delta * count * other.count / total;
+            count = total;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            return this;
+        }
+    }
+
+    private static final class Results {
+        private final long version;
+        private volatile SalaryStatistics statistics;
+        private final Map<Integer, List<SalaryHistogramBucket>> histograms = new ConcurrentHashMap<>();
+        private final Map<Integer, List<AgeBandSalary>> ageBands = new ConcurrentHashMap<>();
+
+        private Results(long version) {
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.rqchallenge.cache;
+
+import com.example.rqchallenge.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+public class EmployeeSnapshot {
+    private final long version;
+    private final List<Employee> employees;
+    private final Map<String, Employee> employeesById;
+    private final long loadedAtMillis;
+
+    public EmployeeSnapshot(long version, List<Employee> employees, long loadedAtMillis) {
+        this.version = version;
+        this.employees = Collections.unmodifiableList(new ArrayList<>(employees));
+        this.employeesById = indexById(this.employees);
+        this.loadedAtMillis = loadedAtMillis;
+    }
+
+    private EmployeeSnapshot(long version, List<Employee> employees, Map<String, Employee> employeesById, long loadedAtMillis) {
+        this.version = version;
+        this.employees = employees;
+        this.employeesById = employeesById;
+        this.loadedAtMillis = loadedAtMillis;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public long getLoadedAtMillis() {
+        return loadedAtMillis;
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    public Optional<Employee> findById(String id) {
+        return Optional.ofNullable(employeesById.get(id));
+    }
+
+    public boolean isExpired(long nowMillis, long ttlMillis) {
+        return nowMillis - loadedAtMillis >= ttlMillis;
+    }
+
+    EmployeeSnapshot expired() {
+        return new EmployeeSnapshot(version, employees, employeesById, Long.MIN_VALUE / 2);
+    }
+
+    EmployeeSnapshot withoutEmployee(long newVersion, String id) {
+        Employee removed = employeesById.get(id);
+        if (removed == null) {
+            return this;
+        }
+        List<Employee> remaining = new ArrayList<>(employees.size() - 1);
+        for (Employee employee : employees) {
+            if (employee != removed) {
+                remaining.add(employee);
+            }
+        }
+        return new EmployeeSnapshot(newVersion, remaining, loadedAtMillis);
+    }
+
+    EmployeeSnapshot withEmployee(long newVersion, Employee added) {
+        List<Employee> updated = new ArrayList<>(employees.size() + 1);
+        boolean replaced = false;
+        for (Employee employee : employees) {
+            if (!replaced && employee != null && added.getId().equals(employee.getId())) {
+                updated.add(added);
+                replaced = true;
+            } else {
+                updated.add(employee);
+            }
+        }
+        if (!replaced) {
+            updated.add(added);
+        }
+        return new EmployeeSnapshot(newVersion, updated, loadedAtMillis);
+    }
+
+    /**
+     * Whether the list holds the same employees field for field and in the same order, so a reload can keep the version.
+     */
+    boolean hasSameEmployees(List<Employee> others) {
+        if (others.size() != employees.size()) {
+            return false;
+        }
+        for (int i = 0; i < employees.size(); i++) {
+            if (!sameEmployee(employees.get(i), others.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameEmployee(Employee left, Employee right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        return Objects.equals(left.getId(), right.getId())
+                && Objects.equals(left.getEmployeeName(), right.getEmployeeName())
+                && Objects.equals(left.getEmployeeSalary(), right.getEmployeeSalary())
+                && Objects.equals(left.getEmployeeAge(), right.getEmployeeAge())
+                && Objects.equals(left.getProfileImage(), right.getProfileImage());
+    }
+
+    private static Map<String, Employee> indexById(List<Employee> employees) {
+        Map<String, Employee> byId = new HashMap<>(employees.size() * 2);
+        for (Employee employee : employees) {
+            if (employee != null && employee.getId() != null) {
+                byId.putIfAbsent(employee.getId(), employee);
+            }
+        }
+        return Collections.unmodifiableMap(byId);
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.rqchallenge.cache;
+
+import com.example.rqchallenge.client.EmployeeClient;
+import com.example.rqchallenge.client.EmployeeLookup;
+import com.example.rqchallenge.event.EmployeeCreatedEvent;
+import com.example.rqchallenge.event.EmployeeDeletedEvent;
+import com.example.rqchallenge.model.Employee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Read-through cache of the full upstream employee list.
+ * Expired snapshots are still served while a single background refresh runs (stale-while-revalidate),
+ * and concurrent misses share one upstream call.
+ */
+@Service
+public class EmployeeSnapshotCache implements EmployeeLookup {
+
+    @Autowired
+    private EmployeeClient employeeClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    private List<EmployeeSnapshotListener> snapshotListeners = new ArrayList<>();
+
+    @Value("${employeeCache.ttlMillis:30000}")
+    private long ttlMillis;
+
+    private final AtomicReference<EmployeeSnapshot> snapshot = new AtomicReference<>();
+
+    private final AtomicReference<CompletableFuture<EmployeeSnapshot>> inFlightLoad = new AtomicReference<>();
+
+    private final AtomicLong versions = new AtomicLong();
+
+    private ExecutorService refreshExecutor;
+
+    private Counter hits;
+    private Counter staleHits;
+    private Counter misses;
+    private Counter refreshes;
+    private Counter refreshFailures;
+    private Counter refreshesSuperseded;
+
+    Logger logger = LoggerFactory.getLogger(EmployeeSnapshotCache.class);
+
+    @PostConstruct
+    void init() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("employee-cache-refresh-");
+        threadFactory.setDaemon(true);
+        refreshExecutor = Executors.newSingleThreadExecutor(threadFactory);
+
+        hits = meterRegistry.counter("employee.cache.requests", "result", "hit");
+        staleHits = meterRegistry.counter("employee.cache.requests", "result", "stale");
+        misses = meterRegistry.counter("employee.cache.requests", "result", "miss");
+        refreshes = meterRegistry.counter("employee.cache.refreshes", "outcome", "success");
+        refreshFailures = meterRegistry.counter("employee.cache.refreshes", "outcome", "failure");
+        refreshesSuperseded = meterRegistry.counter("employee.cache.refreshes", "outcome", "superseded");
+        meterRegistry.gauge("employee.cache.size", snapshot, current -> current.get() == null ? 0 : current.get().size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    public List<Employee> getAllEmployees() {
+        return getSnapshot().getEmployees();
+    }
+
+    public EmployeeSnapshot getSnapshot() {
+        EmployeeSnapshot current = snapshot.get();
+        if (current == null) {
+            misses.increment();
+            return await(load(false));
+        }
+        if (current.isExpired(System.currentTimeMillis(), ttlMillis)) {
+            staleHits.increment();
+            load(true);
+            return current;
+        }
+        hits.increment();
+        return current;
+    }
+
+    /**
+     * The last snapshot loaded from the upstream, expired or not, without triggering a load.
+     */
+    public Optional<EmployeeSnapshot> getLastSnapshot() {
+        return Optional.ofNullable(snapshot.get());
+    }
+
+    /**
+     * The last loaded snapshot for answering a conditional request without loading on the request thread or counting
+     * a cache access. Like {@link #getSnapshot()}, an expired snapshot starts a background refresh, so clients that
+     * only ever revalidate still move to the new version once it is loaded.
+     */
+    public Optional<EmployeeSnapshot> getSnapshotForRevalidation() {
+        EmployeeSnapshot current = snapshot.get();
+        if (current != null && current.isExpired(System.currentTimeMillis(), ttlMillis)) {
+            load(true);
+        }
+        return Optional.ofNullable(current);
+    }
+
+    @Override
+    public Optional<Employee> findCachedEmployee(String id) {
+        EmployeeSnapshot current = snapshot.get();
+        return current == null ? Optional.empty() : current.findById(id);
+    }
+
+    /**
+     * Installs a snapshot from outside the upstream, such as a persisted replica, unless one has already been loaded.
+     * The snapshot keeps its original load time, so an old seed is served while a refresh runs in the background.
+     */
+    public boolean seed(List<Employee> employees, long loadedAtMillis) {
+        EmployeeSnapshot seeded = new EmployeeSnapshot(versions.incrementAndGet(), employees, loadedAtMillis);
+        if (!snapshot.compareAndSet(null, seeded)) {
+            return false;
+        }
+        notifyLoaded(seeded);
+        return true;
+    }
+
+    /**
+     * Starts a background reload from the upstream, or joins the one already running.
+     */
+    public CompletableFuture<EmployeeSnapshot> refresh() {
+        return load(true);
+    }
+
+    public void markStale() {
+        EmployeeSnapshot current;
+        do {
+            current = snapshot.get();
+            if (current == null) {
+                return;
+            }
+        } while (!snapshot.compareAndSet(current, current.expired()));
+    }
+
+    public void clear() {
+        snapshot.set(null);
+    }
+
+    @EventListener
+    public void onEmployeeCreated(EmployeeCreatedEvent event) {
+        Employee created = event.getEmployee();
+        if (created == null || created.getId() == null) {
+            markStale();
+            return;
+        }
+        EmployeeSnapshot current;
+        EmployeeSnapshot patched;
+        do {
+            current = snapshot.get();
+            if (current == null) {
+                return;
+            }
+            // write the new employee through, but keep the snapshot stale so the next read reconciles with upstream
+            patched = current.withEmployee(versions.incrementAndGet(), created).expired();
+        } while (!snapshot.compareAndSet(current, patched));
+        notifyLoaded(patched);
+    }
+
+    @EventListener
+    public void onEmployeeDeleted(EmployeeDeletedEvent event) {
+        EmployeeSnapshot current;
+        EmployeeSnapshot patched;
+        Employee removed;
+        do {
+            current = snapshot.get();
+            removed = current == null ? null : current.findById(event.getEmployeeId()).orElse(null);
+            if (removed == null) {
+                return;
+            }
+            patched = current.withoutEmployee(versions.incrementAndGet(), event.getEmployeeId());
+        } while (!snapshot.compareAndSet(current, patched));
+        for (EmployeeSnapshotListener listener : snapshotListeners) {
+            listener.onEmployeeRemoved(patched, removed);
+        }
+    }
+
+    private CompletableFuture<EmployeeSnapshot> load(boolean async) {
+        while (true) {
+            CompletableFuture<EmployeeSnapshot> existing = inFlightLoad.get();
+            if (existing != null) {
+                return existing;
+            }
+            CompletableFuture<EmployeeSnapshot> load = new CompletableFuture<>();
+            if (!inFlightLoad.compareAndSet(null, load)) {
+                continue;
+            }
+            if (!async) {
+                runLoad(load);
+                return load;
+            }
+            try {
+                refreshExecutor.execute(() -> runLoad(load));
+            } catch (RejectedExecutionException e) {
+                inFlightLoad.compareAndSet(load, null);
+                load.completeExceptionally(e);
+            }
+            return load;
+        }
+    }
+
+    /**
+     * Fetches the roster and installs it only if the snapshot is still the one the load started from. A create or
+     * delete patched in while the fetch was running may not be in the fetched roster, so a superseded load keeps the
+     * patched snapshot, marks it stale and leaves the next read to reload.
+     */
+    private void runLoad(CompletableFuture<EmployeeSnapshot> load) {
+        try {
+            EmployeeSnapshot started = snapshot.get();
+            List<Employee> employees = employeeClient.getAllEmployees();
+            // an unchanged roster keeps its version, so ETags derived from it stay valid across refreshes
+            long version = started != null && started.hasSameEmployees(employees) ? started.getVersion() : versions.incrementAndGet();
+            EmployeeSnapshot loaded = new EmployeeSnapshot(version, employees, System.currentTimeMillis());
+            if (!snapshot.compareAndSet(started, loaded)) {
+                refreshesSuperseded.increment();
+                logger.info("Discarding employee snapshot load superseded by a concurrent change");
+                markStale();
+                EmployeeSnapshot current = snapshot.get();
+                load.complete(current != null ? current : loaded);
+                return;
+            }
+            refreshes.increment();
+            notifyLoaded(loaded);
+            load.complete(loaded);
+        } catch (RuntimeException e) {
+            refreshFailures.increment();
+            logger.error("Refreshing employee snapshot failed :: " + e.getMessage());
+            load.completeExceptionally(e);
+        } finally {
+            inFlightLoad.compareAndSet(load, null);
+        }
+    }
+
+    private void notifyLoaded(EmployeeSnapshot loaded) {
+        for (EmployeeSnapshotListener listener : snapshotListeners) {
+            meterRegistry.timer("employee.index.build", "index", listener.getClass().getSimpleName())
+                    .record(() -> listener.onSnapshotLoaded(loaded));
+        }
+    }
+
+    private EmployeeSnapshot await(CompletableFuture<EmployeeSnapshot> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.rqchallenge.cache;
+
+import com.example.rqchallenge.model.Employee;
+
+public interface EmployeeSnapshotListener {
+
+    void onSnapshotLoaded(EmployeeSnapshot snapshot);
+
+    default void onEmployeeRemoved(EmployeeSnapshot snapshot, Employee removed) {
+        onSnapshotLoaded(snapshot);
+    }
+}
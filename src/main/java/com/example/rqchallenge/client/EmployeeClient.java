@@ -1,28 +1,85 @@
 package com.example.rqchallenge.client;
 
+import com.example.rqchallenge.dto.DeleteEmployeeResponseDto;
 import com.example.rqchallenge.dto.GetSingleEmployeeResponseDto;
 import com.example.rqchallenge.dto.GetAllEmployeesResponseDto;
+import com.example.rqchallenge.event.EmployeeCreatedEvent;
+import com.example.rqchallenge.event.EmployeeDeletedEvent;
 import com.example.rqchallenge.exception.RqChallengeApplicationException;
+import com.example.rqchallenge.exception.RateLimitExceededException;
+import com.example.rqchallenge.exception.UpstreamUnavailableException;
 import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.ratelimit.AdaptiveRateLimiter;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class EmployeeClient {
 
+    static final String UPSTREAM_TIMER = "employee.client.requests";
+
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectProvider<EmployeeLookup> employeeLookup;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
     @Value("${dummyService.host}")
     private String externalEmployeeServiceHost;
 
@@ -38,26 +95,262 @@ public class EmployeeClient {
     @Value("${dummyService.deletePath}")
     private String deletePath;
 
+    @Value("${dummyService.fastDelete:false}")
+    private boolean fastDelete;
+
+    @Value("${dummyService.retry.maxAttempts:3}")
+    private int retryMaxAttempts;
+
+    @Value("${dummyService.retry.initialBackoffMillis:100}")
+    private long retryInitialBackoffMillis;
+
+    @Value("${dummyService.retry.maxBackoffMillis:2000}")
+    private long retryMaxBackoffMillis;
+
+    @Value("${dummyService.retry.retryableStatuses:429,502,503,504}")
+    private String retryableStatuses;
+
+    @Value("${dummyService.retry.budgetRatio:0.1}")
+    private double retryBudgetRatio;
+
+    @Value("${dummyService.retry.budgetMaxTokens:10}")
+    private double retryBudgetMaxTokens;
+
+    @Value("${dummyService.rateLimit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Value("${dummyService.rateLimit.initialPermitsPerSecond:50}")
+    private double rateLimitInitialPermitsPerSecond;
+
+    @Value("${dummyService.rateLimit.minPermitsPerSecond:1}")
+    private double rateLimitMinPermitsPerSecond;
+
+    @Value("${dummyService.rateLimit.maxPermitsPerSecond:500}")
+    private double rateLimitMaxPermitsPerSecond;
+
+    @Value("${dummyService.rateLimit.additiveIncrease:5}")
+    private double rateLimitAdditiveIncrease;
+
+    @Value("${dummyService.rateLimit.decreaseFactor:0.7}")
+    private double rateLimitDecreaseFactor;
+
+    @Value("${dummyService.rateLimit.cooldownMillis:1000}")
+    private long rateLimitCooldownMillis;
+
+    @Value("${dummyService.rateLimit.maxWaitMillis:500}")
+    private long rateLimitMaxWaitMillis;
+
+    @Value("${dummyService.hedging.enabled:false}")
+    private boolean hedgingEnabled;
+
+    @Value("${dummyService.hedging.minDelayMillis:20}")
+    private long hedgingMinDelayMillis;
+
+    @Value("${dummyService.hedging.maxConcurrent:16}")
+    private int hedgingMaxConcurrent;
+
+    @Value("${dummyService.conditionalRequests:true}")
+    private boolean conditionalRequests;
+
+    private SingleFlight<String, List<Employee>> getAllFlight;
+
+    private SingleFlight<String, Employee> getSingleFlight;
+
+    private ObjectReader employeeReader;
+
+    private RetryPolicy retryPolicy;
+
+    private HedgedRequests hedgedRequests;
+
+    private AdaptiveRateLimiter rateLimiter;
+
+    private final AtomicReference<ValidatedEmployees> lastAllEmployees = new AtomicReference<>();
+
     Logger logger = LoggerFactory.getLogger(EmployeeClient.class);
 
+    @PostConstruct
+    void init() {
+        getAllFlight = new SingleFlight<>("getAll", meterRegistry);
+        getSingleFlight = new SingleFlight<>("getSingle", meterRegistry);
+        employeeReader = objectMapper.readerFor(Employee.class);
+        RetryBudget retryBudget = new RetryBudget(retryBudgetRatio, retryBudgetMaxTokens);
+        retryPolicy = new RetryPolicy(
+                retryMaxAttempts,
+                retryInitialBackoffMillis,
+                retryMaxBackoffMillis,
+                Arrays.stream(retryableStatuses.split(","))
+                        .map(String::trim)
+                        .map(Integer::valueOf)
+                        .collect(Collectors.toSet()),
+                retryBudget,
+                meterRegistry
+        );
+        hedgedRequests = new HedgedRequests(hedgingEnabled, hedgingMinDelayMillis, hedgingMaxConcurrent, retryBudget, meterRegistry);
+        if (rateLimitEnabled) {
+            rateLimiter = new AdaptiveRateLimiter(
+                    rateLimitInitialPermitsPerSecond,
+                    rateLimitMinPermitsPerSecond,
+                    rateLimitMaxPermitsPerSecond,
+                    rateLimitAdditiveIncrease,
+                    rateLimitDecreaseFactor,
+                    rateLimitCooldownMillis,
+                    rateLimitMaxWaitMillis,
+                    meterRegistry
+            );
+        }
+        for (String operation : List.of("getAll", "getSingle", "create", "delete", "stream")) {
+            circuitBreakerRegistry.circuitBreaker(operation)
+                    .getEventPublisher()
+                    .onStateTransition(event -> {
+                        logger.warn("Employee service circuit :: {} :: {}", operation, event.getStateTransition());
+                        meterRegistry.counter("employee.client.circuit.transitions",
+                                "operation", operation,
+                                "from", event.getStateTransition().getFromState().name(),
+                                "to", event.getStateTransition().getToState().name()
+                        ).increment();
+                    });
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (hedgedRequests != null) {
+            hedgedRequests.shutdown();
+        }
+    }
+
     public List<Employee> getAllEmployees() {
-        GetAllEmployeesResponseDto getEmployeeResponse = restTemplate.getForObject(
+        return getAllFlight.execute(getAllPath, this::fetchAllEmployees);
+    }
+
+    public Employee getSingleEmployee(String id) {
+        try {
+            return getSingleFlight.execute(id, () -> fetchSingleEmployee(id));
+        } catch (UpstreamUnavailableException e) {
+            Optional<Employee> cachedEmployee = findCachedEmployee(id);
+            if (cachedEmployee.isEmpty()) {
+                throw e;
+            }
+            logger.info("Serving cached employee :: {} while employee service is unavailable", id);
+            return cachedEmployee.get();
+        }
+    }
+
+    /**
+     * Streams the upstream roster into the consumer as it is parsed. The call has its own "stream" bulkhead and
+     * circuit breaker, and both are released once the response headers arrive: the time spent writing rows to a
+     * slow downstream client neither holds a bulkhead slot nor counts as a slow upstream call.
+     */
+    public void streamAllEmployees(Consumer<Employee> onEmployee) {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker("stream");
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead("stream");
+        try {
+            circuitBreaker.acquirePermission();
+        } catch (CallNotPermittedException e) {
+            throw new UpstreamUnavailableException("Employee service is unavailable, circuit open for :: stream");
+        }
+        if (!bulkhead.tryAcquirePermission()) {
+            circuitBreaker.releasePermission();
+            throw new UpstreamUnavailableException("Employee service is saturated, too many concurrent calls for :: stream");
+        }
+        StreamSetup setup = new StreamSetup(circuitBreaker, bulkhead);
+        try {
+            timed("streamAll", getAllPath, () -> rateLimited("stream", () -> restTemplate.execute(
+                    createFullRoute(getAllPath),
+                    HttpMethod.GET,
+                    request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                    response -> {
+                        setup.connected();
+                        try (JsonParser parser = objectMapper.createParser(response.getBody())) {
+                            readEmployeesArray(parser, onEmployee);
+                        }
+                        return new ResponseEntity<Void>(response.getStatusCode());
+                    }
+            )));
+        } catch (RuntimeException e) {
+            setup.failed(e);
+            throw e;
+        }
+    }
+
+    private void readEmployeesArray(JsonParser parser, Consumer<Employee> onEmployee) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            logger.info("GET all employees returned null response");
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                JsonToken element;
+                while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (element == null) {
+                        throw new JsonParseException(parser, "Employee array ended before its closing bracket");
+                    }
+                    if (element == JsonToken.START_OBJECT) {
+                        onEmployee.accept(employeeReader.readValue(parser));
+                    } else {
+                        logger.warn("Skipping non-object element in employee array :: {}", element);
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private List<Employee> fetchAllEmployees() {
+        ValidatedEmployees previous = conditionalRequests ? lastAllEmployees.get() : null;
+        ResponseEntity<GetAllEmployeesResponseDto> response = idempotentRead("getAll", getAllPath, () -> restTemplate.exchange(
                 createFullRoute(getAllPath),
+                HttpMethod.GET,
+                new HttpEntity<>(conditionalHeaders(previous)),
                 GetAllEmployeesResponseDto.class
-        );
+        ));
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && previous != null) {
+            meterRegistry.counter("employee.client.not.modified", "operation", "getAll").increment();
+            return previous.employees;
+        }
+        GetAllEmployeesResponseDto getEmployeeResponse = response.getBody();
         if (getEmployeeResponse == null) {
             logger.info("GET all employees returned null response");
             return new ArrayList<>();
         }
+        rememberValidators(response.getHeaders(), getEmployeeResponse.data);
         return getEmployeeResponse.data;
     }
 
-    public Employee getSingleEmployee(String id) {
+    private HttpHeaders conditionalHeaders(ValidatedEmployees previous) {
+        HttpHeaders headers = new HttpHeaders();
+        if (previous != null) {
+            if (previous.eTag != null) {
+                headers.setIfNoneMatch(previous.eTag);
+            }
+            if (previous.lastModified != null) {
+                headers.set(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified);
+            }
+        }
+        return headers;
+    }
+
+    private void rememberValidators(HttpHeaders headers, List<Employee> employees) {
+        if (!conditionalRequests) {
+            return;
+        }
+        String eTag = headers.getETag();
+        String lastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+        lastAllEmployees.set(eTag == null && lastModified == null || employees == null
+                ? null
+                : new ValidatedEmployees(eTag, lastModified, employees));
+    }
+
+    private Employee fetchSingleEmployee(String id) {
         String getSingleEmployeePath = getSinglePath + id;
-        GetSingleEmployeeResponseDto getSingleEmployeeResponse = restTemplate.getForObject(
+        GetSingleEmployeeResponseDto getSingleEmployeeResponse = idempotentRead("getSingle", getSinglePath + "{id}", () -> restTemplate.getForEntity(
                 createFullRoute(getSingleEmployeePath),
                 GetSingleEmployeeResponseDto.class
-        );
+        )).getBody();
         if (getSingleEmployeeResponse == null) {
             logger.info("GET single employee returned empty response");
             return null;
@@ -70,31 +363,197 @@ public class EmployeeClient {
         request.add("name", name);
         request.add("salary", salary);
         request.add("age", age);
-        GetSingleEmployeeResponseDto createEmployeeResponse = restTemplate.postForObject(
+        GetSingleEmployeeResponseDto createEmployeeResponse = guarded("create", () -> timed("create", createPath, () -> restTemplate.postForEntity(
                 createFullRoute(createPath),
                 request,
                 GetSingleEmployeeResponseDto.class
-        );
+        ))).getBody();
         if (createEmployeeResponse == null) {
             logger.error("CREATE employee returned null but successful response");
             throw new RqChallengeApplicationException("Create employee returned null response, please try again", HttpStatus.INTERNAL_SERVER_ERROR);
         }
+        eventPublisher.publishEvent(new EmployeeCreatedEvent(createEmployeeResponse.getData()));
         return createEmployeeResponse.getStatus();
     }
 
     public String deleteEmployeeById(String id) {
+        Optional<Employee> cachedEmployee = findCachedEmployee(id);
+        if (fastDelete) {
+            return deleteWithoutLookup(id, cachedEmployee);
+        }
         String deletePathFull = deletePath + id;
-        Employee employeeToDelete = getSingleEmployee(id);
+        Employee employeeToDelete = cachedEmployee.orElseGet(() -> getSingleEmployee(id));
         if (employeeToDelete == null) {
-            logger.info("No employee with id :: " + id + " exists, no need to delete");
+            logger.info("No employee with id :: {} exists, no need to delete", id);
             return "";
         }
-        logger.warn("Deleting Employee record with name :: " + employeeToDelete.getEmployeeName());
-        restTemplate.delete(createFullRoute(deletePathFull));
+        logger.warn("Deleting Employee record with name :: {}", employeeToDelete.getEmployeeName());
+        guarded("delete", () -> timed("delete", deletePath + "{id}", () -> restTemplate.exchange(
+                createFullRoute(deletePathFull),
+                HttpMethod.DELETE,
+                null,
+                Void.class
+        )));
+        eventPublisher.publishEvent(new EmployeeDeletedEvent(id));
         return employeeToDelete.getEmployeeName();
     }
 
+    private String deleteWithoutLookup(String id, Optional<Employee> cachedEmployee) {
+        DeleteEmployeeResponseDto deleteResponse = guarded("delete", () -> timed("delete", deletePath + "{id}", () -> restTemplate.exchange(
+                createFullRoute(deletePath + id),
+                HttpMethod.DELETE,
+                null,
+                DeleteEmployeeResponseDto.class
+        ))).getBody();
+        if (deleteResponse != null && !deleteResponse.isSuccess()) {
+            logger.info("DELETE employee with id :: {} was not successful :: {}", id, deleteResponse.getMessage());
+            return "";
+        }
+        eventPublisher.publishEvent(new EmployeeDeletedEvent(id));
+        if (cachedEmployee.isPresent()) {
+            logger.warn("Deleted Employee record with name :: {}", cachedEmployee.get().getEmployeeName());
+            return cachedEmployee.get().getEmployeeName();
+        }
+        logger.warn("Deleted Employee record with id :: {}", id);
+        return deleteResponse == null || deleteResponse.getData() == null ? id : deleteResponse.getData();
+    }
+
+    /**
+     * Reads that are safe to repeat are retried on transient failures and, when enabled, hedged at the p95.
+     * Each attempt still passes the circuit breaker and bulkhead. Creates and deletes never come through here.
+     */
+    private <T extends ResponseEntity<?>> T idempotentRead(String operation, String path, Supplier<T> call) {
+        return retryPolicy.execute(operation, () ->
+                hedgedRequests.execute(operation, () ->
+                        guarded(operation, () -> timed(operation, path, call))));
+    }
+
+    /**
+     * Runs an upstream call through the operation's bulkhead and circuit breaker. When the breaker is open or the
+     * bulkhead is saturated the call fails immediately with a 503 instead of queueing behind a degraded upstream.
+     */
+    private <T> T guarded(String operation, Supplier<T> call) {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(operation);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(operation);
+        try {
+            return CircuitBreaker.decorateSupplier(circuitBreaker,
+                    Bulkhead.decorateSupplier(bulkhead, () -> rateLimited(operation, call))).get();
+        } catch (CallNotPermittedException e) {
+            throw new UpstreamUnavailableException("Employee service is unavailable, circuit open for :: " + operation);
+        } catch (BulkheadFullException e) {
+            throw new UpstreamUnavailableException("Employee service is saturated, too many concurrent calls for :: " + operation);
+        }
+    }
+
+    /**
+     * Paces upstream calls through the shared adaptive limiter and feeds 429s back into it,
+     * shedding the call with a 503 when no permit is available within the bounded wait.
+     */
+    private <T> T rateLimited(String operation, Supplier<T> call) {
+        if (rateLimiter == null) {
+            return call.get();
+        }
+        try {
+            if (!rateLimiter.tryAcquire()) {
+                throw new RateLimitExceededException("Employee service rate limit reached for :: " + operation, Duration.ofSeconds(1));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamUnavailableException("Interrupted waiting for employee service rate limit :: " + operation);
+        }
+        try {
+            T result = call.get();
+            rateLimiter.onSuccess();
+            return result;
+        } catch (RqChallengeApplicationException e) {
+            if (e.getStatus() == HttpStatus.TOO_MANY_REQUESTS) {
+                rateLimiter.onThrottled();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Times one upstream call including reading and binding the response body, tagged with the operation,
+     * the path template and the upstream status: the status class of a returned {@link ResponseEntity}, so a 304
+     * revalidation shows as 3xx, the status code of an error, or the failure type when no status was received.
+     * Comparing against http.client.requests, which stops at the response headers, isolates deserialization cost.
+     */
+    private <T extends ResponseEntity<?>> T timed(String operation, String path, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String status = "UNKNOWN";
+        try {
+            T response = call.get();
+            status = response.getStatusCodeValue() / 100 + "xx";
+            return response;
+        } catch (RqChallengeApplicationException e) {
+            status = String.valueOf(e.getStatus().value());
+            throw e;
+        } catch (ResourceAccessException e) {
+            status = InFlightRequests.isCurrentAborted() ? "ABORTED" : "IO_ERROR";
+            throw e;
+        } catch (RuntimeException e) {
+            status = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(UPSTREAM_TIMER, "operation", operation, "path", path, "status", status));
+        }
+    }
+
+    private Optional<Employee> findCachedEmployee(String id) {
+        EmployeeLookup lookup = employeeLookup.getIfAvailable();
+        return lookup == null ? Optional.empty() : lookup.findCachedEmployee(id);
+    }
+
     private String createFullRoute(String path) {
         return externalEmployeeServiceHost + path;
     }
+
+    /**
+     * Bulkhead and circuit breaker permits of one streaming call, released exactly once: as a success when the
+     * upstream response arrives, or as a failure when the call fails before that.
+     */
+    private static final class StreamSetup {
+        private final CircuitBreaker circuitBreaker;
+        private final Bulkhead bulkhead;
+        private final long start;
+        private boolean released;
+
+        private StreamSetup(CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+            this.circuitBreaker = circuitBreaker;
+            this.bulkhead = bulkhead;
+            this.start = circuitBreaker.getCurrentTimestamp();
+        }
+
+        private void connected() {
+            if (!released) {
+                released = true;
+                circuitBreaker.onSuccess(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit());
+                bulkhead.onComplete();
+            }
+        }
+
+        private void failed(Throwable failure) {
+            if (!released) {
+                released = true;
+                circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(), failure);
+                bulkhead.onComplete();
+            }
+        }
+    }
+
+    /**
+     * The last full roster together with the upstream validators it was served with.
+     */
+    private static final class ValidatedEmployees {
+        private final String eTag;
+        private final String lastModified;
+        private final List<Employee> employees;
+
+        private ValidatedEmployees(String eTag, String lastModified, List<Employee> employees) {
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.employees = employees;
+        }
+    }
 }
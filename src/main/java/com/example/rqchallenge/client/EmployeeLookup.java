@@ -0,0 +1,10 @@
+package com.example.rqchallenge.client;
+
+import com.example.rqchallenge.model.Employee;
+
+import java.util.Optional;
+
+public interface EmployeeLookup {
+
+    Optional<Employee> findCachedEmployee(String id);
+}
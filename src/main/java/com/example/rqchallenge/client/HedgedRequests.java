@@ -0,0 +1,203 @@
+package com.example.rqchallenge.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Sends a second, identical read when the first has not answered within the operation's recent p95 latency,
+ * and returns whichever succeeds first. The first call runs on the caller's thread; only the hedge runs on a
+ * small bounded pool, and when that pool is busy the hedge is skipped. Each hedge also draws on the shared
+ * {@link RetryBudget}. Whichever call loses is aborted through {@link InFlightRequests} so it does not keep an
+ * upstream connection. Until enough latencies have been observed, calls run unhedged.
+ */
+public class HedgedRequests {
+
+    private static final int MIN_SAMPLES = 20;
+
+    private final boolean enabled;
+
+    private final long minDelayNanos;
+
+    private final RetryBudget budget;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ScheduledThreadPoolExecutor timer;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    public HedgedRequests(boolean enabled, long minDelayMillis, int maxConcurrentHedges, RetryBudget budget, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMillis);
+        this.budget = budget;
+        this.meterRegistry = meterRegistry;
+        if (enabled) {
+            CustomizableThreadFactory timerThreads = new CustomizableThreadFactory("employee-client-hedge-timer-");
+            timerThreads.setDaemon(true);
+            timer = new ScheduledThreadPoolExecutor(1, timerThreads);
+            timer.setRemoveOnCancelPolicy(true);
+            CustomizableThreadFactory hedgeThreads = new CustomizableThreadFactory("employee-client-hedge-");
+            hedgeThreads.setDaemon(true);
+            executor = new ThreadPoolExecutor(0, maxConcurrentHedges, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), hedgeThreads);
+        } else {
+            timer = null;
+            executor = null;
+        }
+    }
+
+    public <T> T execute(String operation, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        LatencyWindow window = latencies.computeIfAbsent(operation, key -> new LatencyWindow());
+        Supplier<T> measured = () -> {
+            long start = System.nanoTime();
+            T result = call.get();
+            window.record(System.nanoTime() - start);
+            return result;
+        };
+        long hedgeDelayNanos = window.p95Nanos();
+        if (hedgeDelayNanos < 0) {
+            return measured.get();
+        }
+
+        Hedge<T> hedge = new Hedge<>(operation, measured, InFlightRequests.open());
+        ScheduledFuture<?> hedgeTimer = timer.schedule(hedge::launch, Math.max(hedgeDelayNanos, minDelayNanos), TimeUnit.NANOSECONDS);
+        try {
+            T result = measured.get();
+            hedgeTimer.cancel(false);
+            hedge.cancel();
+            return result;
+        } catch (RuntimeException e) {
+            hedgeTimer.cancel(false);
+            if (!hedge.launched) {
+                throw e;
+            }
+            // the primary failed, possibly because a successful hedge aborted it, so the hedge decides the outcome
+            return hedge.await(e);
+        } finally {
+            InFlightRequests.close();
+        }
+    }
+
+    public void shutdown() {
+        if (executor != null) {
+            timer.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The second call of one hedged read. Once launched, it aborts the primary's request when it succeeds,
+     * and is itself aborted when the primary succeeds first.
+     */
+    private final class Hedge<T> {
+        private final String operation;
+        private final Supplier<T> call;
+        private final InFlightRequests.Handle primary;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private volatile InFlightRequests.Handle request;
+        private volatile boolean launched;
+        private volatile boolean cancelled;
+
+        private Hedge(String operation, Supplier<T> call, InFlightRequests.Handle primary) {
+            this.operation = operation;
+            this.call = call;
+            this.primary = primary;
+        }
+
+        private void launch() {
+            if (cancelled || !budget.tryAcquire()) {
+                return;
+            }
+            launched = true;
+            try {
+                executor.execute(this::run);
+                meterRegistry.counter("employee.client.hedges", "operation", operation).increment();
+            } catch (RejectedExecutionException e) {
+                launched = false;
+                result.completeExceptionally(e);
+                meterRegistry.counter("employee.client.hedges.skipped", "operation", operation).increment();
+            }
+        }
+
+        private void run() {
+            request = InFlightRequests.open();
+            try {
+                if (cancelled) {
+                    request.abort();
+                }
+                T value = call.get();
+                result.complete(value);
+                primary.abort();
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            } finally {
+                InFlightRequests.close();
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+            InFlightRequests.Handle current = request;
+            if (current != null) {
+                current.abort();
+            }
+        }
+
+        private T await(RuntimeException primaryFailure) {
+            try {
+                return result.get();
+            } catch (ExecutionException e) {
+                throw primaryFailure;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw primaryFailure;
+            }
+        }
+    }
+
+    /**
+     * Recent latencies of one operation in a fixed ring; the p95 is recomputed after every few new samples.
+     */
+    private static final class LatencyWindow {
+        private static final int SIZE = 512;
+        private static final int RECOMPUTE_EVERY = 32;
+
+        private final long[] samples = new long[SIZE];
+        private int count;
+        private int sinceRecompute;
+        private volatile long p95Nanos = -1;
+
+        private synchronized void record(long nanos) {
+            samples[count % SIZE] = nanos;
+            count++;
+            if (++sinceRecompute >= RECOMPUTE_EVERY || count == MIN_SAMPLES) {
+                sinceRecompute = 0;
+                long[] sorted = Arrays.copyOf(samples, Math.min(count, SIZE));
+                Arrays.sort(sorted);
+                p95Nanos = count < MIN_SAMPLES ? -1 : sorted[(int) Math.ceil(sorted.length * 0.95) - 1];
+            }
+        }
+
+        private long p95Nanos() {
+            return p95Nanos;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.rqchallenge.client;
+
+import org.apache.http.client.methods.HttpUriRequest;
+
+/**
+ * Lets one thread abort the upstream request another thread is blocked on. A caller opens a handle on its own
+ * thread before making a call; the request factory attaches each request it creates to the current thread's
+ * handle, and {@link Handle#abort()} then aborts that request from any thread, failing the blocked read at once.
+ * Without an open handle, or with a request factory that does not attach requests, aborting does nothing.
+ */
+public final class InFlightRequests {
+
+    private static final ThreadLocal<Handle> CURRENT = new ThreadLocal<>();
+
+    private InFlightRequests() {
+    }
+
+    static Handle open() {
+        Handle handle = new Handle();
+        CURRENT.set(handle);
+        return handle;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Whether the request of the current thread was aborted on purpose, so its failure says nothing about the upstream.
+     */
+    static boolean isCurrentAborted() {
+        Handle handle = CURRENT.get();
+        return handle != null && handle.aborted;
+    }
+
+    public static void attach(HttpUriRequest request) {
+        Handle handle = CURRENT.get();
+        if (handle != null) {
+            handle.attach(request);
+        }
+    }
+
+    static final class Handle {
+        private volatile HttpUriRequest request;
+        private volatile boolean aborted;
+
+        private void attach(HttpUriRequest attached) {
+            request = attached;
+            if (aborted) {
+                attached.abort();
+            }
+        }
+
+        void abort() {
+            aborted = true;
+            HttpUriRequest current = request;
+            if (current != null) {
+                current.abort();
+            }
+        }
+    }
+}
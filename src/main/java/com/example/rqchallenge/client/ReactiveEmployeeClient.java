@@ -0,0 +1,102 @@
+package com.example.rqchallenge.client;
+
+import com.example.rqchallenge.dto.GetSingleEmployeeResponseDto;
+import com.example.rqchallenge.event.EmployeeCreatedEvent;
+import com.example.rqchallenge.event.EmployeeDeletedEvent;
+import com.example.rqchallenge.exception.RqChallengeApplicationException;
+import com.example.rqchallenge.model.Employee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking upstream writes for the reactive endpoints; reads go through the snapshot cache instead. Writes publish the same created and deleted events as
+ * {@link EmployeeClient}, on a bounded elastic thread because the listeners patch the snapshot and rebuild indexes.
+ */
+@Service
+@ConditionalOnProperty(name = "dummyService.clientMode", havingValue = "reactive")
+public class ReactiveEmployeeClient {
+
+    @Autowired
+    private WebClient employeeWebClient;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${dummyService.getSinglePath}")
+    private String getSinglePath;
+
+    @Value("${dummyService.createPath}")
+    private String createPath;
+
+    @Value("${dummyService.deletePath}")
+    private String deletePath;
+
+    Logger logger = LoggerFactory.getLogger(ReactiveEmployeeClient.class);
+
+    public Mono<Employee> getSingleEmployee(String id) {
+        return employeeWebClient.get()
+                .uri(getSinglePath + id)
+                .retrieve()
+                .onStatus(HttpStatus::isError, this::toApplicationException)
+                .bodyToMono(GetSingleEmployeeResponseDto.class)
+                .flatMap(response -> Mono.justOrEmpty(response.data));
+    }
+
+    public Mono<String> createEmployee(String name, String salary, String age) {
+        MultiValueMap<String, String> request = new LinkedMultiValueMap<>();
+        request.add("name", name);
+        request.add("salary", salary);
+        request.add("age", age);
+        return employeeWebClient.post()
+                .uri(createPath)
+                .body(BodyInserters.fromFormData(request))
+                .retrieve()
+                .onStatus(HttpStatus::isError, this::toApplicationException)
+                .bodyToMono(GetSingleEmployeeResponseDto.class)
+                .switchIfEmpty(Mono.error(() -> {
+                    logger.error("CREATE employee returned null but successful response");
+                    return new RqChallengeApplicationException("Create employee returned null response, please try again", HttpStatus.INTERNAL_SERVER_ERROR);
+                }))
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(response -> eventPublisher.publishEvent(new EmployeeCreatedEvent(response.getData())))
+                .map(GetSingleEmployeeResponseDto::getStatus);
+    }
+
+    public Mono<String> deleteEmployeeById(String id) {
+        return getSingleEmployee(id)
+                .flatMap(employeeToDelete -> {
+                    logger.warn("Deleting Employee record with name :: " + employeeToDelete.getEmployeeName());
+                    return employeeWebClient.delete()
+                            .uri(deletePath + id)
+                            .retrieve()
+                            .onStatus(HttpStatus::isError, this::toApplicationException)
+                            .toBodilessEntity()
+                            .publishOn(Schedulers.boundedElastic())
+                            .doOnNext(response -> eventPublisher.publishEvent(new EmployeeDeletedEvent(id)))
+                            .thenReturn(employeeToDelete.getEmployeeName());
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    logger.info("No employee with id :: " + id + " exists, no need to delete");
+                    return "";
+                }));
+    }
+
+    private Mono<? extends Throwable> toApplicationException(ClientResponse response) {
+        logger.error("Error received from employee service, code :: " + response.statusCode());
+        return response.releaseBody()
+                .then(Mono.just(new RqChallengeApplicationException(response.statusCode().getReasonPhrase(), response.statusCode())));
+    }
+}
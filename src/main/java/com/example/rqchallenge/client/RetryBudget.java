@@ -0,0 +1,37 @@
+package com.example.rqchallenge.client;
+
+/**
+ * Caps extra upstream calls (retries and hedges) to a fraction of regular traffic.
+ * Every request deposits {@code ratio} tokens up to {@code maxTokens}; every extra call withdraws one,
+ * so during an outage the extra load stays proportional instead of multiplying every failure.
+ */
+public class RetryBudget {
+
+    private final double ratio;
+
+    private final double maxTokens;
+
+    private double tokens;
+
+    public RetryBudget(double ratio, double maxTokens) {
+        this.ratio = ratio;
+        this.maxTokens = maxTokens;
+        this.tokens = maxTokens;
+    }
+
+    public synchronized void recordRequest() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    public synchronized double availableTokens() {
+        return tokens;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.rqchallenge.client;
+
+import com.example.rqchallenge.exception.RqChallengeApplicationException;
+import com.example.rqchallenge.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Retries idempotent upstream reads on transient failures with capped exponential backoff and full jitter.
+ * Retries draw on a shared {@link RetryBudget}, and a Retry-After longer than the maximum backoff ends
+ * retrying instead of stalling the caller. Failures from an open circuit or a full bulkhead are never retried.
+ */
+public class RetryPolicy {
+
+    private final int maxAttempts;
+
+    private final long initialBackoffMillis;
+
+    private final long maxBackoffMillis;
+
+    private final Set<Integer> retryableStatuses;
+
+    private final RetryBudget budget;
+
+    private final MeterRegistry meterRegistry;
+
+    public RetryPolicy(int maxAttempts, long initialBackoffMillis, long maxBackoffMillis,
+                       Set<Integer> retryableStatuses, RetryBudget budget, MeterRegistry meterRegistry) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.retryableStatuses = retryableStatuses;
+        this.budget = budget;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T execute(String operation, Supplier<T> call) {
+        budget.recordRequest();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                if (!isRetryable(e)) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    count(operation, "exhausted");
+                    throw e;
+                }
+                long delayMillis = delayMillis(attempt, e);
+                if (delayMillis < 0) {
+                    count(operation, "retry_after_too_long");
+                    throw e;
+                }
+                if (!budget.tryAcquire()) {
+                    count(operation, "budget_exhausted");
+                    throw e;
+                }
+                count(operation, "retried");
+                sleep(delayMillis, e);
+            }
+        }
+    }
+
+    boolean isRetryable(RuntimeException e) {
+        if (e instanceof UpstreamUnavailableException) {
+            return false;
+        }
+        if (e instanceof RqChallengeApplicationException) {
+            RqChallengeApplicationException exception = (RqChallengeApplicationException) e;
+            return exception.getStatus() != null && retryableStatuses.contains(exception.getStatus().value());
+        }
+        return e instanceof ResourceAccessException;
+    }
+
+    /**
+     * Full-jitter backoff for the given attempt, raised to the upstream's Retry-After when it asks for longer.
+     * Returns -1 when the upstream asks to wait longer than the maximum backoff.
+     */
+    long delayMillis(int attempt, RuntimeException e) {
+        long cap = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 30));
+        long delay = ThreadLocalRandom.current().nextLong(cap + 1);
+        Duration retryAfter = e instanceof RqChallengeApplicationException
+                ? ((RqChallengeApplicationException) e).getRetryAfter()
+                : null;
+        if (retryAfter == null) {
+            return delay;
+        }
+        if (retryAfter.toMillis() > maxBackoffMillis) {
+            return -1;
+        }
+        return Math.max(delay, retryAfter.toMillis());
+    }
+
+    private void sleep(long delayMillis, RuntimeException failure) {
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failure;
+        }
+    }
+
+    private void count(String operation, String outcome) {
+        meterRegistry.counter("employee.client.retries", "operation", operation, "outcome", outcome).increment();
+    }
+}
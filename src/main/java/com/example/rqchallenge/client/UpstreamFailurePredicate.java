@@ -0,0 +1,31 @@
+package com.example.rqchallenge.client;
+
+import com.example.rqchallenge.exception.RqChallengeApplicationException;
+import com.example.rqchallenge.exception.UpstreamUnavailableException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+
+import java.util.function.Predicate;
+
+/**
+ * Decides which upstream failures count against a circuit breaker. Client errors such as a 404 for an unknown id
+ * say nothing about upstream health, so only 5xx, 429, I/O failures and unexpected exceptions are recorded.
+ * Calls shed locally (full bulkhead, client-side rate limit) never reached the upstream and are not recorded either,
+ * nor are requests aborted on purpose because a hedged duplicate answered first.
+ */
+public class UpstreamFailurePredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable throwable) {
+        if (throwable instanceof BulkheadFullException || throwable instanceof UpstreamUnavailableException
+                || InFlightRequests.isCurrentAborted()) {
+            return false;
+        }
+        if (throwable instanceof RqChallengeApplicationException) {
+            RqChallengeApplicationException exception = (RqChallengeApplicationException) throwable;
+            return exception.getStatus() == null
+                    || exception.getStatus().is5xxServerError()
+                    || exception.getStatus().value() == 429;
+        }
+        return true;
+    }
+}
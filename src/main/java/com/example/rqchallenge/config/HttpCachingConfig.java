@@ -0,0 +1,49 @@
+package com.example.rqchallenge.config;
+
+import com.example.rqchallenge.controller.SnapshotETagInterceptor;
+import com.example.rqchallenge.service.IEmployeeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@ConditionalOnProperty(name = "employeeHttpCache.enabled", havingValue = "true", matchIfMissing = true)
+public class HttpCachingConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Value("${employeeHttpCache.maxAgeSeconds:0}")
+    private long maxAgeSeconds;
+
+    @Bean
+    CacheControl employeeCacheControl() {
+        // clients may reuse a response for max-age, then must revalidate with the ETag
+        return maxAgeSeconds <= 0
+                ? CacheControl.noCache().cachePrivate()
+                : CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePrivate().mustRevalidate();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SnapshotETagInterceptor(employeeService, employeeCacheControl()))
+                .addPathPatterns(
+                        "/",
+                        "/search/**",
+                        "/query",
+                        "/highestSalary",
+                        "/topTenHighestEarningEmployeeNames",
+                        "/topHighestEarningEmployeeNames",
+                        "/salaryStatistics",
+                        "/salaryHistogram",
+                        "/salaryByAgeBand"
+                );
+    }
+}
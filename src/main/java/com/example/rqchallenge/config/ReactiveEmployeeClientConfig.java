@@ -0,0 +1,73 @@
+package com.example.rqchallenge.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "dummyService.clientMode", havingValue = "reactive")
+public class ReactiveEmployeeClientConfig {
+
+    @Value("${dummyService.host}")
+    private String externalEmployeeServiceHost;
+
+    @Value("${dummyService.reactive.maxConnections:500}")
+    private int maxConnections;
+
+    @Value("${dummyService.reactive.pendingAcquireMaxCount:1000}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${dummyService.reactive.pendingAcquireTimeoutMillis:2000}")
+    private long pendingAcquireTimeoutMillis;
+
+    @Value("${dummyService.reactive.connectTimeoutMillis:2000}")
+    private int connectTimeoutMillis;
+
+    @Value("${dummyService.reactive.readTimeoutMillis:5000}")
+    private long readTimeoutMillis;
+
+    @Value("${dummyService.reactive.maxIdleTimeMillis:30000}")
+    private long maxIdleTimeMillis;
+
+    @Value("${dummyService.reactive.evictionIntervalMillis:10000}")
+    private long evictionIntervalMillis;
+
+    @Value("${dummyService.reactive.http2:false}")
+    private boolean http2;
+
+    @Bean(destroyMethod = "dispose")
+    ConnectionProvider employeeConnectionProvider() {
+        return ConnectionProvider.builder("employee-client")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMillis))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMillis))
+                .evictInBackground(Duration.ofMillis(evictionIntervalMillis))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    WebClient employeeWebClient(WebClient.Builder builder, ConnectionProvider employeeConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(employeeConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .responseTimeout(Duration.ofMillis(readTimeoutMillis));
+        if (http2) {
+            // negotiated through ALPN on https hosts, falling back to HTTP/1.1 when the upstream does not offer h2
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        return builder
+                .baseUrl(externalEmployeeServiceHost)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -1,15 +1,102 @@
 package com.example.rqchallenge.config;
 
+import com.example.rqchallenge.client.InFlightRequests;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.ssl.SSLContexts;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import javax.net.ssl.SSLContext;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class RqChallengeApplicationConfig {
 
+    /**
+     * Persistent connections to the upstream, shared by every RestTemplate call. A single SSLContext backs the
+     * socket factory, so its client session cache lets new connections resume earlier TLS sessions instead of
+     * running a full handshake.
+     */
+    @Bean(destroyMethod = "close")
+    PoolingHttpClientConnectionManager employeeConnectionManager(
+            @Value("${dummyService.pool.maxTotal:200}") int maxTotal,
+            @Value("${dummyService.pool.maxPerRoute:100}") int maxPerRoute,
+            @Value("${dummyService.pool.timeToLiveMillis:300000}") long timeToLiveMillis,
+            @Value("${dummyService.pool.validateAfterInactivityMillis:2000}") int validateAfterInactivityMillis,
+            @Value("${dummyService.pool.tlsSessionTimeoutSeconds:86400}") int tlsSessionTimeoutSeconds) {
+        SSLContext sslContext = SSLContexts.createSystemDefault();
+        sslContext.getClientSessionContext().setSessionTimeout(tlsSessionTimeoutSeconds);
+        Registry<ConnectionSocketFactory> socketFactories = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", new SSLConnectionSocketFactory(sslContext, SSLConnectionSocketFactory.getDefaultHostnameVerifier()))
+                .build();
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+                socketFactories, null, null, null, timeToLiveMillis, TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity(validateAfterInactivityMillis);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    CloseableHttpClient employeeHttpClient(PoolingHttpClientConnectionManager employeeConnectionManager,
+                                           @Value("${dummyService.connectTimeoutMillis:2000}") int connectTimeoutMillis,
+                                           @Value("${dummyService.readTimeoutMillis:5000}") int readTimeoutMillis,
+                                           @Value("${dummyService.pool.acquireTimeoutMillis:1000}") int acquireTimeoutMillis,
+                                           @Value("${dummyService.pool.keepAliveMillis:30000}") long keepAliveMillis,
+                                           @Value("${dummyService.pool.maxIdleMillis:30000}") long maxIdleMillis) {
+        return HttpClients.custom()
+                .setConnectionManager(employeeConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(connectTimeoutMillis)
+                        .setSocketTimeout(readTimeoutMillis)
+                        .setConnectionRequestTimeout(acquireTimeoutMillis)
+                        .build())
+                // honour a shorter Keep-Alive timeout from the upstream, otherwise keep connections for keepAliveMillis
+                .setKeepAliveStrategy((response, context) -> {
+                    long advertised = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return advertised > 0 ? Math.min(advertised, keepAliveMillis) : keepAliveMillis;
+                })
+                // no per-user connection state, so any pooled connection can serve any request
+                .disableConnectionState()
+                .evictExpiredConnections()
+                .evictIdleConnections(maxIdleMillis, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    MeterBinder employeeConnectionPoolMetrics(PoolingHttpClientConnectionManager employeeConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(employeeConnectionManager, "employee-client");
+    }
+
     @Bean
-    RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder.errorHandler(new RqChallengeErrorHandler()).build();
+    RestTemplate restTemplate(RestTemplateBuilder builder,
+                              RqChallengeErrorHandler errorHandler,
+                              CloseableHttpClient employeeHttpClient) {
+        return builder.errorHandler(errorHandler)
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(employeeHttpClient) {
+                    @Override
+                    protected void postProcessHttpRequest(HttpUriRequest request) {
+                        // lets a hedged read abort whichever of its two requests loses
+                        InFlightRequests.attach(request);
+                    }
+                })
+                .build();
     }
 }
@@ -1,17 +1,27 @@
 package com.example.rqchallenge.config;
 
 import com.example.rqchallenge.exception.RqChallengeApplicationException;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.ResponseErrorHandler;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 @Component
 public class RqChallengeErrorHandler implements ResponseErrorHandler {
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     Logger logger = LoggerFactory.getLogger(RqChallengeErrorHandler.class);
 
     @Override
@@ -22,13 +32,43 @@ public class RqChallengeErrorHandler implements ResponseErrorHandler {
     @Override
     public void handleError(ClientHttpResponse response) throws IOException {
         if (response.getStatusCode().is4xxClientError()) {
-            logger.error("Client error received, code :: " + response.getStatusCode());
-            throw new RqChallengeApplicationException(response.getStatusText(), response.getStatusCode());
+            logger.error("Client error received, code :: {}", response.getStatusCode());
+            countError("CLIENT_ERROR", response);
+            throw new RqChallengeApplicationException(response.getStatusText(), response.getStatusCode(), retryAfter(response));
         }
 
         if (response.getStatusCode().is5xxServerError()) {
-            logger.error("Server error received, code :: " + response.getStatusCode());
-            throw new RqChallengeApplicationException(response.getStatusText(), response.getStatusCode());
+            logger.error("Server error received, code :: {}", response.getStatusCode());
+            countError("SERVER_ERROR", response);
+            throw new RqChallengeApplicationException(response.getStatusText(), response.getStatusCode(), retryAfter(response));
+        }
+    }
+
+    /**
+     * Parses a Retry-After header given either as delay seconds or as an HTTP date, ignoring malformed values.
+     */
+    static Duration retryAfter(ClientHttpResponse response) {
+        String value = response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
         }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            // not delay seconds, try an HTTP date
+        }
+        try {
+            Duration untilDate = Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+            return untilDate.isNegative() ? Duration.ZERO : untilDate;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private void countError(String outcome, ClientHttpResponse response) throws IOException {
+        meterRegistry.counter("employee.client.errors",
+                "outcome", outcome,
+                "status", String.valueOf(response.getRawStatusCode())
+        ).increment();
     }
 }
@@ -2,6 +2,7 @@ package com.example.rqchallenge.config;
 
 import com.example.rqchallenge.exception.RqApplicationErrorResponse;
 import com.example.rqchallenge.exception.RqChallengeApplicationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -21,6 +22,10 @@ public class RqChallengeExceptionHandler {
                 exception.getStatus().value(),
                 Instant.now()
         );
-        return new ResponseEntity<>(errorResponse, exception.getStatus());
+        HttpHeaders headers = new HttpHeaders();
+        if (exception.getRetryAfter() != null) {
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, exception.getRetryAfter().toSeconds())));
+        }
+        return new ResponseEntity<>(errorResponse, headers, exception.getStatus());
     }
 }
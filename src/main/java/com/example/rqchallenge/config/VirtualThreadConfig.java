@@ -0,0 +1,39 @@
+package com.example.rqchallenge.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+
+@Configuration
+@ConditionalOnProperty(name = "virtualThreads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private ExecutorService requestExecutor;
+
+    Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        requestExecutor = VirtualThreads.newVirtualThreadPerTaskExecutor().orElse(null);
+        if (requestExecutor == null) {
+            logger.warn("Virtual threads requested but not supported by Java " + Runtime.version() + ", keeping platform request threads");
+            return protocolHandler -> { };
+        }
+        logger.info("Handling requests and upstream calls on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(requestExecutor);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (requestExecutor != null) {
+            requestExecutor.shutdown();
+        }
+    }
+}
@@ -1,34 +1,135 @@
 package com.example.rqchallenge.controller;
 
+import com.example.rqchallenge.model.AgeBandSalary;
+import com.example.rqchallenge.model.BulkOperationResult;
 import com.example.rqchallenge.model.CreateEmployeeRequest;
+import com.example.rqchallenge.model.CreateEmployeeStatus;
 import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeePage;
+import com.example.rqchallenge.model.EmployeePageRequest;
+import com.example.rqchallenge.model.EmployeeQuery;
+import com.example.rqchallenge.model.EmployeeQueryResult;
+import com.example.rqchallenge.model.SalaryHistogramBucket;
+import com.example.rqchallenge.model.SalaryStatistics;
+import com.example.rqchallenge.service.IAsyncEmployeeService;
+import com.example.rqchallenge.service.IBulkEmployeeService;
 import com.example.rqchallenge.service.IEmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 public class EmployeeController implements IEmployeeController {
 
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    static final String QUERY_PLAN_HEADER = "X-Query-Plan";
+
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+
+    static final String RESPOND_ASYNC = "respond-async";
+
     @Autowired
     private IEmployeeService employeeService;
 
-    public ResponseEntity<List<Employee>> getAllEmployees() throws IOException {
+    @Autowired
+    private IBulkEmployeeService bulkEmployeeService;
+
+    @Autowired
+    private IAsyncEmployeeService asyncEmployeeService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private CacheControl employeeCacheControl;
+
+    @Value("${employeeBulk.timeoutMillis:600000}")
+    private long bulkTimeoutMillis;
+
+    @Value("${employeeAsyncCreate.enabled:true}")
+    private boolean asyncCreateEnabled;
+
+    Logger logger = LoggerFactory.getLogger(EmployeeController.class);
+
+    public ResponseEntity<List<Employee>> getAllEmployees(EmployeePageRequest pageRequest) throws IOException {
+        if (!pageRequest.isUnpaged()) {
+            return pageResponse(employeeService.getEmployeePage(pageRequest));
+        }
         List<Employee> employeeList = employeeService.getAllEmployees();
         return new ResponseEntity<>(employeeList, HttpStatus.OK);
     }
 
-    public ResponseEntity<List<Employee>> getEmployeesByNameSearch(String searchString) {
-        List<Employee> employeeList = employeeService.getEmployeesByNames(searchString);
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees(String format) {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        StreamingResponseBody body = out -> {
+            EmployeeStreamWriter writer = new EmployeeStreamWriter(objectMapper, out, ndjson);
+            // a failure propagates without the end of the array, so the container aborts the response
+            employeeService.streamAllEmployees(writer);
+            writer.complete();
+        };
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    public ResponseEntity<List<Employee>> getEmployeesByNameSearch(String searchString, boolean ignoreCase, boolean prefix,
+                                                                   EmployeePageRequest pageRequest) {
+        if (!pageRequest.isUnpaged()) {
+            return pageResponse(employeeService.getEmployeePageByNames(searchString, ignoreCase, prefix, pageRequest));
+        }
+        List<Employee> employeeList = ignoreCase || prefix
+                ? employeeService.getEmployeesByNames(searchString, ignoreCase, prefix)
+                : employeeService.getEmployeesByNames(searchString);
         return new ResponseEntity<>(employeeList, HttpStatus.OK);
     }
 
+    public ResponseEntity<List<Employee>> queryEmployees(EmployeeQuery query, EmployeePageRequest pageRequest) {
+        EmployeeQueryResult result = employeeService.queryEmployees(query, pageRequest);
+        HttpHeaders headers = pageHeaders(result.getPage());
+        headers.add(QUERY_PLAN_HEADER, result.getPlan());
+        headers.add(SERVER_TIMING_HEADER, String.format(Locale.ROOT, "query;desc=\"%s\";dur=%.3f", result.getPlan(), result.getElapsedNanos() / 1_000_000.0));
+        return new ResponseEntity<>(result.getPage().getEmployees(), headers, HttpStatus.OK);
+    }
+
     public ResponseEntity<Employee> getEmployeeById(String id) {
-        return new ResponseEntity<>(employeeService.getEmployeeById(id), HttpStatus.OK);
+        Employee employee = employeeService.getEmployeeById(id);
+        if (employeeCacheControl == null || employee == null) {
+            return new ResponseEntity<>(employee, HttpStatus.OK);
+        }
+        // the employee may come straight from upstream rather than the snapshot, so its tag is derived from its content
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        return ResponseEntity.ok()
+                .eTag(RepresentationETags.tag(contentTag(employee), request))
+                .cacheControl(employeeCacheControl)
+                .varyBy(RepresentationETags.VARY_HEADERS)
+                .body(employee);
     }
 
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
@@ -39,11 +140,102 @@ public class EmployeeController implements IEmployeeController {
         return new ResponseEntity<>(employeeService.getTopTenHighestEarningEmployeeNames(), HttpStatus.OK);
     }
 
-    public ResponseEntity<String> createEmployee(CreateEmployeeRequest createRequest) {
+    public ResponseEntity<List<String>> getTopHighestEarningEmployeeNames(int n) {
+        return new ResponseEntity<>(employeeService.getTopHighestEarningEmployeeNames(n), HttpStatus.OK);
+    }
+
+    public ResponseEntity<SalaryStatistics> getSalaryStatistics() {
+        return new ResponseEntity<>(employeeService.getSalaryStatistics(), HttpStatus.OK);
+    }
+
+    public ResponseEntity<List<SalaryHistogramBucket>> getSalaryHistogram(int buckets) {
+        return new ResponseEntity<>(employeeService.getSalaryHistogram(buckets), HttpStatus.OK);
+    }
+
+    public ResponseEntity<List<AgeBandSalary>> getSalaryByAgeBand(int bandWidth) {
+        return new ResponseEntity<>(employeeService.getSalaryByAgeBand(bandWidth), HttpStatus.OK);
+    }
+
+    public ResponseEntity<String> createEmployee(CreateEmployeeRequest createRequest, String prefer) {
+        if (asyncCreateEnabled && prefer != null && prefer.contains(RESPOND_ASYNC)) {
+            CreateEmployeeStatus status = asyncEmployeeService.submitCreate(createRequest);
+            return ResponseEntity.accepted()
+                    .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                            .path("/creates/{trackingId}")
+                            .buildAndExpand(status.getTrackingId())
+                            .toUri())
+                    .header(PREFERENCE_APPLIED_HEADER, RESPOND_ASYNC)
+                    .body(status.getTrackingId());
+        }
         return new ResponseEntity<>(employeeService.createEmployee(createRequest), HttpStatus.OK);
     }
 
+    public ResponseEntity<CreateEmployeeStatus> getCreateStatus(String trackingId) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(asyncEmployeeService.getCreateStatus(trackingId));
+    }
+
     public ResponseEntity<String> deleteEmployeeById(String id) {
         return new ResponseEntity<>(employeeService.deleteEmployeeById(id), HttpStatus.OK);
     }
+
+    public ResponseEntity<ResponseBodyEmitter> createEmployees(List<CreateEmployeeRequest> createRequests) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(bulkTimeoutMillis);
+        streamResults(emitter, bulkEmployeeService.createEmployees(createRequests, result -> sendResult(emitter, result)));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+    }
+
+    public ResponseEntity<ResponseBodyEmitter> deleteEmployeesByIds(List<String> ids) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(bulkTimeoutMillis);
+        streamResults(emitter, bulkEmployeeService.deleteEmployeesByIds(ids, result -> sendResult(emitter, result)));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+    }
+
+    private ResponseEntity<List<Employee>> pageResponse(EmployeePage page) {
+        return new ResponseEntity<>(page.getEmployees(), pageHeaders(page), HttpStatus.OK);
+    }
+
+    private HttpHeaders pageHeaders(EmployeePage page) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(TOTAL_COUNT_HEADER, String.valueOf(page.getTotal()));
+        if (page.getNextCursor() != null) {
+            headers.add(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return headers;
+    }
+
+    private static String contentTag(Employee employee) {
+        String content = employee.getId() + "\u0000" + employee.getEmployeeName() + "\u0000" + employee.getEmployeeSalary()
+                + "\u0000" + employee.getEmployeeAge() + "\u0000" + employee.getProfileImage();
+        return DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Completes the emitter with the bulk operation, and cancels the operation's pending items when the client
+     * goes away or the emitter times out first.
+     */
+    private void streamResults(ResponseBodyEmitter emitter, CompletableFuture<Void> completion) {
+        emitter.onTimeout(() -> completion.cancel(false));
+        emitter.onError(error -> completion.cancel(false));
+        emitter.onCompletion(() -> completion.cancel(false));
+        completion.whenComplete((ignored, error) -> {
+            if (error == null) {
+                emitter.complete();
+            } else if (!(error instanceof CancellationException)) {
+                emitter.completeWithError(error);
+            }
+        });
+    }
+
+    private void sendResult(ResponseBodyEmitter emitter, BulkOperationResult result) {
+        synchronized (emitter) {
+            try {
+                emitter.send(result, MediaType.APPLICATION_JSON);
+                emitter.send("\n", MediaType.TEXT_PLAIN);
+            } catch (IOException e) {
+                logger.warn("Unable to stream bulk result for item :: " + result.getIndex() + " :: " + e.getMessage());
+            }
+        }
+    }
 }
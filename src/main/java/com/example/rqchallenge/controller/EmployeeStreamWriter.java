@@ -0,0 +1,52 @@
+package com.example.rqchallenge.controller;
+
+import com.example.rqchallenge.model.Employee;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes streamed employees as a JSON array or as NDJSON. The array is only closed by {@link #complete()}, so a
+ * stream that fails partway never ends with a terminator that would make the truncated body look complete.
+ */
+class EmployeeStreamWriter implements Consumer<Employee> {
+
+    private final JsonGenerator generator;
+
+    private final boolean ndjson;
+
+    EmployeeStreamWriter(ObjectMapper objectMapper, OutputStream out, boolean ndjson) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.ndjson = ndjson;
+        if (!ndjson) {
+            generator.writeStartArray();
+        }
+    }
+
+    @Override
+    public void accept(Employee employee) {
+        try {
+            generator.writeObject(employee);
+            if (ndjson) {
+                generator.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Ends the array and flushes; call only once every employee has been written.
+     */
+    void complete() throws IOException {
+        if (!ndjson) {
+            generator.writeEndArray();
+        }
+        generator.close();
+    }
+}
@@ -1,9 +1,17 @@
 package com.example.rqchallenge.controller;
 
+import com.example.rqchallenge.model.AgeBandSalary;
 import com.example.rqchallenge.model.CreateEmployeeRequest;
+import com.example.rqchallenge.model.CreateEmployeeStatus;
 import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeePageRequest;
+import com.example.rqchallenge.model.EmployeeQuery;
+import com.example.rqchallenge.model.SalaryHistogramBucket;
+import com.example.rqchallenge.model.SalaryStatistics;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
@@ -12,10 +20,20 @@ import java.util.List;
 public interface IEmployeeController {
 
     @GetMapping()
-    ResponseEntity<List<Employee>> getAllEmployees() throws IOException;
+    ResponseEntity<List<Employee>> getAllEmployees(EmployeePageRequest pageRequest) throws IOException;
+
+    @GetMapping("/stream")
+    ResponseEntity<StreamingResponseBody> streamAllEmployees(@RequestParam(defaultValue = "json") String format);
 
     @GetMapping("/search/{searchString}")
-    ResponseEntity<List<Employee>> getEmployeesByNameSearch(@PathVariable String searchString);
+    ResponseEntity<List<Employee>> getEmployeesByNameSearch(
+            @PathVariable String searchString,
+            @RequestParam(defaultValue = "false") boolean ignoreCase,
+            @RequestParam(defaultValue = "false") boolean prefix,
+            EmployeePageRequest pageRequest);
+
+    @GetMapping("/query")
+    ResponseEntity<List<Employee>> queryEmployees(EmployeeQuery query, EmployeePageRequest pageRequest);
 
     @GetMapping("/{id}")
     ResponseEntity<Employee> getEmployeeById(@PathVariable String id);
@@ -26,10 +44,32 @@ public interface IEmployeeController {
     @GetMapping("/topTenHighestEarningEmployeeNames")
     ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames();
 
+    @GetMapping("/topHighestEarningEmployeeNames")
+    ResponseEntity<List<String>> getTopHighestEarningEmployeeNames(@RequestParam(defaultValue = "10") int n);
+
+    @GetMapping("/salaryStatistics")
+    ResponseEntity<SalaryStatistics> getSalaryStatistics();
+
+    @GetMapping("/salaryHistogram")
+    ResponseEntity<List<SalaryHistogramBucket>> getSalaryHistogram(@RequestParam(defaultValue = "10") int buckets);
+
+    @GetMapping("/salaryByAgeBand")
+    ResponseEntity<List<AgeBandSalary>> getSalaryByAgeBand(@RequestParam(defaultValue = "10") int bandWidth);
+
     @PostMapping()
-    ResponseEntity<String> createEmployee(@RequestBody CreateEmployeeRequest employeeInput);
+    ResponseEntity<String> createEmployee(@RequestBody CreateEmployeeRequest employeeInput,
+                                          @RequestHeader(value = "Prefer", required = false) String prefer);
+
+    @GetMapping("/creates/{trackingId}")
+    ResponseEntity<CreateEmployeeStatus> getCreateStatus(@PathVariable String trackingId);
 
     @DeleteMapping("/{id}")
     ResponseEntity<String> deleteEmployeeById(@PathVariable String id);
 
+    @PostMapping("/bulk")
+    ResponseEntity<ResponseBodyEmitter> createEmployees(@RequestBody List<CreateEmployeeRequest> employeeInputs);
+
+    @DeleteMapping("/bulk")
+    ResponseEntity<ResponseBodyEmitter> deleteEmployeesByIds(@RequestBody List<String> ids);
+
 }
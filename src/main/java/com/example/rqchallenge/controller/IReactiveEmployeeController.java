@@ -0,0 +1,36 @@
+package com.example.rqchallenge.controller;
+
+import com.example.rqchallenge.model.CreateEmployeeRequest;
+import com.example.rqchallenge.model.Employee;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/reactive")
+public interface IReactiveEmployeeController {
+
+    @GetMapping()
+    Mono<ResponseEntity<List<Employee>>> getAllEmployees();
+
+    @GetMapping("/search/{searchString}")
+    Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@PathVariable String searchString);
+
+    @GetMapping("/{id}")
+    Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id);
+
+    @GetMapping("/highestSalary")
+    Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees();
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames();
+
+    @PostMapping()
+    Mono<ResponseEntity<String>> createEmployee(@RequestBody CreateEmployeeRequest employeeInput);
+
+    @DeleteMapping("/{id}")
+    Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id);
+
+}
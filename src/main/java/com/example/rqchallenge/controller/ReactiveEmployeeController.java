@@ -0,0 +1,60 @@
+package com.example.rqchallenge.controller;
+
+import com.example.rqchallenge.model.CreateEmployeeRequest;
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.service.IReactiveEmployeeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@ConditionalOnProperty(name = "dummyService.clientMode", havingValue = "reactive")
+public class ReactiveEmployeeController implements IReactiveEmployeeController {
+
+    @Autowired
+    private IReactiveEmployeeService employeeService;
+
+    public Mono<ResponseEntity<List<Employee>>> getAllEmployees() {
+        return employeeService.getAllEmployees()
+                .collectList()
+                .map(employeeList -> new ResponseEntity<>(employeeList, HttpStatus.OK));
+    }
+
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(String searchString) {
+        return employeeService.getEmployeesByNames(searchString)
+                .collectList()
+                .map(employeeList -> new ResponseEntity<>(employeeList, HttpStatus.OK));
+    }
+
+    public Mono<ResponseEntity<Employee>> getEmployeeById(String id) {
+        return employeeService.getEmployeeById(id)
+                .map(employee -> new ResponseEntity<>(employee, HttpStatus.OK))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.OK));
+    }
+
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return employeeService.getHighestSalary()
+                .map(salary -> new ResponseEntity<>(salary, HttpStatus.OK));
+    }
+
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames()
+                .collectList()
+                .map(names -> new ResponseEntity<>(names, HttpStatus.OK));
+    }
+
+    public Mono<ResponseEntity<String>> createEmployee(CreateEmployeeRequest createRequest) {
+        return employeeService.createEmployee(createRequest)
+                .map(status -> new ResponseEntity<>(status, HttpStatus.OK));
+    }
+
+    public Mono<ResponseEntity<String>> deleteEmployeeById(String id) {
+        return employeeService.deleteEmployeeById(id)
+                .map(name -> new ResponseEntity<>(name, HttpStatus.OK));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.rqchallenge.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Strong ETags that differ per representation. The same resource can be sent as JSON, Smile or CBOR and with or
+ * without gzip, so the tag of the resource is suffixed with the Accept header and whether gzip is accepted,
+ * and responses vary on both headers.
+ */
+final class RepresentationETags {
+
+    static final String[] VARY_HEADERS = {HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING};
+
+    private RepresentationETags() {
+    }
+
+    static String tag(String resourceTag, HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        String variant = accept == null || accept.isBlank()
+                ? "any"
+                : DigestUtils.md5DigestAsHex(accept.trim().getBytes(StandardCharsets.UTF_8)).substring(0, 8);
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            variant += "-gz";
+        }
+        return "\"" + resourceTag + "-" + variant + "\"";
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.rqchallenge.controller;
+
+import com.example.rqchallenge.service.IEmployeeService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.OptionalLong;
+
+/**
+ * Conditional GET for read endpoints answered from the employee snapshot. The strong ETag is the snapshot version,
+ * prefixed with the start time of this instance so that versions restarting from 1 never match an older tag,
+ * and qualified by the negotiated representation.
+ * A matching If-None-Match is answered with 304 before the handler runs, so nothing is computed or serialized.
+ * The version is read from the last loaded snapshot so revalidation never loads or counts as a cache access,
+ * while an expired snapshot still starts a background refresh; before the first load no ETag is sent.
+ */
+public class SnapshotETagInterceptor implements HandlerInterceptor {
+
+    private final IEmployeeService employeeService;
+
+    private final CacheControl cacheControl;
+
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+
+    public SnapshotETagInterceptor(IEmployeeService employeeService, CacheControl cacheControl) {
+        this.employeeService = employeeService;
+        this.cacheControl = cacheControl;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        // read before the handler builds the body, so a tag is never newer than the data it is sent with
+        OptionalLong version = employeeService.getLastSnapshotVersion();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        if (version.isEmpty()) {
+            return true;
+        }
+        String eTag = RepresentationETags.tag(epoch + "-" + version.getAsLong(), request);
+        response.setHeader(HttpHeaders.VARY, String.join(", ", RepresentationETags.VARY_HEADERS));
+        return !new ServletWebRequest(request, response).checkNotModified(eTag);
+    }
+}
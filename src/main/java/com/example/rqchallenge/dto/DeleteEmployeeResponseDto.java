@@ -1,7 +1,17 @@
 package com.example.rqchallenge.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
 
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class DeleteEmployeeResponseDto {
     @JsonProperty("status")
     String status;
@@ -9,4 +19,8 @@ public class DeleteEmployeeResponseDto {
     String data;
     @JsonProperty("message")
     String message;
+
+    public boolean isSuccess() {
+        return "success".equalsIgnoreCase(status);
+    }
 }
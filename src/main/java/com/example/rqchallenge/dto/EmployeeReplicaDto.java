@@ -0,0 +1,25 @@
+package com.example.rqchallenge.dto;
+
+import com.example.rqchallenge.model.Employee;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeReplicaDto {
+    @JsonProperty("saved_at")
+    long savedAtMillis;
+    @JsonProperty("loaded_at")
+    long loadedAtMillis;
+    @JsonProperty("data")
+    List<Employee> data;
+}
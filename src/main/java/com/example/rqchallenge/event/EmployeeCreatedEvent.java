@@ -0,0 +1,11 @@
+package com.example.rqchallenge.event;
+
+import com.example.rqchallenge.model.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EmployeeCreatedEvent {
+    private final Employee employee;
+}
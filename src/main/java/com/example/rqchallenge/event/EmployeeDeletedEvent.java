@@ -0,0 +1,10 @@
+package com.example.rqchallenge.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EmployeeDeletedEvent {
+    private final String employeeId;
+}
@@ -0,0 +1,10 @@
+package com.example.rqchallenge.exception;
+
+import java.time.Duration;
+
+public class RateLimitExceededException extends UpstreamUnavailableException {
+
+    public RateLimitExceededException(String message, Duration retryAfter) {
+        super(message, retryAfter);
+    }
+}
@@ -2,13 +2,21 @@ package com.example.rqchallenge.exception;
 
 import org.springframework.http.HttpStatus;
 
+import java.time.Duration;
+
 public class RqChallengeApplicationException extends RuntimeException {
     final String message;
     final HttpStatus status;
+    final Duration retryAfter;
 
     public RqChallengeApplicationException(String message, HttpStatus status) {
+        this(message, status, null);
+    }
+
+    public RqChallengeApplicationException(String message, HttpStatus status, Duration retryAfter) {
         this.message = message;
         this.status = status;
+        this.retryAfter = retryAfter;
     }
 
     @Override
@@ -19,5 +27,8 @@ public class RqChallengeApplicationException extends RuntimeException {
     public HttpStatus getStatus() {
         return status;
     }
-}
 
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
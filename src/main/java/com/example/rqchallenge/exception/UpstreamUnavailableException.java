@@ -0,0 +1,16 @@
+package com.example.rqchallenge.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+public class UpstreamUnavailableException extends RqChallengeApplicationException {
+
+    public UpstreamUnavailableException(String message) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    public UpstreamUnavailableException(String message, Duration retryAfter) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE, retryAfter);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.rqchallenge.index;
+
+import com.example.rqchallenge.cache.EmployeeSnapshot;
+import com.example.rqchallenge.cache.EmployeeSnapshotListener;
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeSort;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sorted views of the current snapshot, built lazily per sort order and kept until the snapshot version changes,
+ * so repeated pages of the same ordering are sliced from one sort instead of re-sorting on every request.
+ */
+@Component
+public class EmployeeSortIndex implements EmployeeSnapshotListener {
+
+    private volatile SortedViews views = new SortedViews(-1);
+
+    @Override
+    public void onSnapshotLoaded(EmployeeSnapshot snapshot) {
+        views = new SortedViews(snapshot.getVersion());
+    }
+
+    public List<Employee> sorted(EmployeeSnapshot snapshot, EmployeeSort sort) {
+        SortedViews current = viewsFor(snapshot);
+        Employee[] employees = current.bySort.computeIfAbsent(sort, key -> build(snapshot, key));
+        return Collections.unmodifiableList(Arrays.asList(employees));
+    }
+
+    private SortedViews viewsFor(EmployeeSnapshot snapshot) {
+        SortedViews current = views;
+        if (current.version == snapshot.getVersion()) {
+            return current;
+        }
+        SortedViews rebuilt = new SortedViews(snapshot.getVersion());
+        views = rebuilt;
+        return rebuilt;
+    }
+
+    private static Employee[] build(EmployeeSnapshot snapshot, EmployeeSort sort) {
+        Employee[] employees = snapshot.getEmployees()
+                .stream()
+                .filter(employee -> employee != null)
+                .toArray(Employee[]::new);
+        Arrays.sort(employees, sort.comparator());
+        return employees;
+    }
+
+    private static final class SortedViews {
+        private final long version;
+        private final Map<EmployeeSort, Employee[]> bySort = new ConcurrentHashMap<>();
+
+        private SortedViews(long version) {
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.rqchallenge.index;
+
+import com.example.rqchallenge.cache.EmployeeSnapshot;
+import com.example.rqchallenge.cache.EmployeeSnapshotListener;
+import com.example.rqchallenge.model.Employee;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Trigram index over the lower-cased employee names of the current snapshot.
+ * Search strings of three or more characters only verify employees whose names contain every
+ * trigram of the search string; shorter strings fall back to a scan of the folded names.
+ */
+@Component
+public class NameIndex implements EmployeeSnapshotListener {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private volatile Postings postings = Postings.build(-1, List.of());
+
+    @Override
+    public void onSnapshotLoaded(EmployeeSnapshot snapshot) {
+        postings = Postings.build(snapshot.getVersion(), snapshot.getEmployees());
+    }
+
+    @Override
+    public void onEmployeeRemoved(EmployeeSnapshot snapshot, Employee removed) {
+        Postings current = postings;
+        Postings patched = current.without(snapshot.getVersion(), removed);
+        postings = patched == null ? Postings.build(snapshot.getVersion(), snapshot.getEmployees()) : patched;
+    }
+
+    public List<Employee> search(EmployeeSnapshot snapshot, String searchString, boolean ignoreCase, boolean prefix) {
+        Postings current = postingsFor(snapshot);
+        String foldedSearch = fold(searchString);
+        List<Employee> matches = new ArrayList<>();
+        int[] candidates = current.candidates(foldedSearch);
+        for (int position : candidates) {
+            if (current.removed.get(position) || current.names[position] == null) {
+                continue;
+            }
+            String name = ignoreCase ? current.foldedNames[position] : current.names[position];
+            String term = ignoreCase ? foldedSearch : searchString;
+            if (prefix ? name.startsWith(term) : name.contains(term)) {
+                matches.add(current.employees[position]);
+            }
+        }
+        return matches;
+    }
+
+    private Postings postingsFor(EmployeeSnapshot snapshot) {
+        Postings current = postings;
+        if (current.version == snapshot.getVersion()) {
+            return current;
+        }
+        Postings rebuilt = Postings.build(snapshot.getVersion(), snapshot.getEmployees());
+        postings = rebuilt;
+        return rebuilt;
+    }
+
+    private static String fold(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Postings {
+        private final long version;
+        private final Employee[] employees;
+        private final String[] names;
+        private final String[] foldedNames;
+        private final Map<String, int[]> grams;
+        private final int[] allPositions;
+        private final BitSet removed;
+
+        private Postings(long version, Employee[] employees, String[] names, String[] foldedNames,
+                         Map<String, int[]> grams, int[] allPositions, BitSet removed) {
+            this.version = version;
+            this.employees = employees;
+            this.names = names;
+            this.foldedNames = foldedNames;
+            this.grams = grams;
+            this.allPositions = allPositions;
+            this.removed = removed;
+        }
+
+        private static Postings build(long version, List<Employee> source) {
+            Employee[] employees = source.stream()
+                    .filter(employee -> employee != null)
+                    .toArray(Employee[]::new);
+            String[] names = new String[employees.length];
+            String[] foldedNames = new String[employees.length];
+            Map<String, PositionList> lists = new HashMap<>();
+            for (int position = 0; position < employees.length; position++) {
+                String name = employees[position].getEmployeeName();
+                if (name == null) {
+                    continue;
+                }
+                names[position] = name;
+                foldedNames[position] = fold(name);
+                for (int start = 0; start + GRAM_LENGTH <= foldedNames[position].length(); start++) {
+                    lists.computeIfAbsent(foldedNames[position].substring(start, start + GRAM_LENGTH), gram -> new PositionList())
+                            .add(position);
+                }
+            }
+            Map<String, int[]> grams = new HashMap<>(lists.size() * 2);
+            lists.forEach((gram, positions) -> grams.put(gram, positions.toArray()));
+            int[] allPositions = new int[employees.length];
+            Arrays.setAll(allPositions, position -> position);
+            return new Postings(version, employees, names, foldedNames, grams, allPositions, new BitSet(employees.length));
+        }
+
+        private Postings without(long newVersion, Employee employee) {
+            for (int position = 0; position < employees.length; position++) {
+                if (employees[position] == employee && !removed.get(position)) {
+                    BitSet patched = (BitSet) removed.clone();
+                    patched.set(position);
+                    return new Postings(newVersion, employees, names, foldedNames, grams, allPositions, patched);
+                }
+            }
+            return null;
+        }
+
+        private int[] candidates(String foldedSearch) {
+            if (foldedSearch.length() < GRAM_LENGTH) {
+                return allPositions;
+            }
+            int[] candidates = null;
+            for (int start = 0; start + GRAM_LENGTH <= foldedSearch.length(); start++) {
+                int[] positions = grams.get(foldedSearch.substring(start, start + GRAM_LENGTH));
+                if (positions == null) {
+                    return new int[0];
+                }
+                candidates = candidates == null ? positions : intersect(candidates, positions);
+                if (candidates.length == 0) {
+                    return candidates;
+                }
+            }
+            return candidates;
+        }
+
+        private static int[] intersect(int[] left, int[] right) {
+            int[] result = new int[Math.min(left.length, right.length)];
+            int size = 0;
+            int i = 0;
+            int j = 0;
+            while (i < left.length && j < right.length) {
+                if (left[i] < right[j]) {
+                    i++;
+                } else if (left[i] > right[j]) {
+                    j++;
+                } else {
+                    result[size++] = left[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, size);
+        }
+    }
+
+    private static final class PositionList {
+        private int[] positions = new int[4];
+        private int size;
+
+        private void add(int position) {
+            if (size > 0 && positions[size - 1] == position) {
+                return;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.rqchallenge.index;
+
+import com.example.rqchallenge.cache.EmployeeSnapshot;
+import com.example.rqchallenge.cache.EmployeeSnapshotListener;
+import com.example.rqchallenge.model.Employee;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Employees of the current snapshot ordered by salary, highest first.
+ * Rebuilt when a snapshot is loaded and patched in place when a single employee is removed,
+ * so highest salary is O(1) and top-N is O(N).
+ */
+@Component
+public class SalaryIndex implements EmployeeSnapshotListener {
+
+    private static final Comparator<Employee> HIGHEST_SALARY_FIRST =
+            Comparator.comparingInt(SalaryIndex::salaryOf).reversed();
+
+    private volatile Ranking ranking = new Ranking(-1, new Employee[0]);
+
+    @Override
+    public void onSnapshotLoaded(EmployeeSnapshot snapshot) {
+        ranking = build(snapshot);
+    }
+
+    @Override
+    public void onEmployeeRemoved(EmployeeSnapshot snapshot, Employee removed) {
+        Ranking current = ranking;
+        int position = current.indexOf(removed);
+        if (position < 0 || current.employees.length - 1 != snapshot.size()) {
+            ranking = build(snapshot);
+            return;
+        }
+        Employee[] remaining = new Employee[current.employees.length - 1];
+        System.arraycopy(current.employees, 0, remaining, 0, position);
+        System.arraycopy(current.employees, position + 1, remaining, position, remaining.length - position);
+        ranking = new Ranking(snapshot.getVersion(), remaining);
+    }
+
+    public Integer getHighestSalary(EmployeeSnapshot snapshot) {
+        Employee[] employees = rankingFor(snapshot).employees;
+        if (employees.length == 0 || employees[0].getEmployeeSalary() == null) {
+            return 0;
+        }
+        return employees[0].getEmployeeSalary();
+    }
+
+    public List<String> getTopEarnerNames(EmployeeSnapshot snapshot, int n) {
+        Employee[] employees = rankingFor(snapshot).employees;
+        int limit = Math.min(n, employees.length);
+        List<String> names = new ArrayList<>(limit);
+        for (int i = 0; i < limit; i++) {
+            names.add(employees[i].getEmployeeName());
+        }
+        return names;
+    }
+
+    public List<Employee> getEmployeesBySalaryDescending(EmployeeSnapshot snapshot) {
+        return Collections.unmodifiableList(Arrays.asList(rankingFor(snapshot).employees));
+    }
+
+    private Ranking rankingFor(EmployeeSnapshot snapshot) {
+        Ranking current = ranking;
+        if (current.version == snapshot.getVersion()) {
+            return current;
+        }
+        Ranking rebuilt = build(snapshot);
+        ranking = rebuilt;
+        return rebuilt;
+    }
+
+    private static Ranking build(EmployeeSnapshot snapshot) {
+        Employee[] employees = snapshot.getEmployees()
+                .stream()
+                .filter(employee -> employee != null)
+                .toArray(Employee[]::new);
+        Arrays.sort(employees, HIGHEST_SALARY_FIRST);
+        return new Ranking(snapshot.getVersion(), employees);
+    }
+
+    private static int salaryOf(Employee employee) {
+        return employee.getEmployeeSalary() == null ? Integer.MIN_VALUE : employee.getEmployeeSalary();
+    }
+
+    private static final class Ranking {
+        private final long version;
+        private final Employee[] employees;
+
+        private Ranking(long version, Employee[] employees) {
+            this.version = version;
+            this.employees = employees;
+        }
+
+        private int indexOf(Employee employee) {
+            for (int i = 0; i < employees.length; i++) {
+                if (employees[i] == employee) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
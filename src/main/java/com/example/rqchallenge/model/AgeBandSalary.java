@@ -0,0 +1,15 @@
+package com.example.rqchallenge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AgeBandSalary {
+    private final int minAge;
+    private final int maxAge;
+    private final long count;
+    private final int minSalary;
+    private final int maxSalary;
+    private final double averageSalary;
+}
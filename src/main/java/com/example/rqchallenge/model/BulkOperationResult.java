@@ -0,0 +1,31 @@
+package com.example.rqchallenge.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkOperationResult {
+    public static final String SUCCESS = "SUCCESS";
+    public static final String FAILED = "FAILED";
+
+    int index;
+    String id;
+    String status;
+    String result;
+    String error;
+
+    public static BulkOperationResult success(int index, String id, String result) {
+        return new BulkOperationResult(index, id, SUCCESS, result, null);
+    }
+
+    public static BulkOperationResult failure(int index, String id, String error) {
+        return new BulkOperationResult(index, id, FAILED, null, error);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.rqchallenge.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CreateEmployeeStatus {
+    public static final String QUEUED = "QUEUED";
+    public static final String IN_PROGRESS = "IN_PROGRESS";
+    public static final String SUCCEEDED = "SUCCEEDED";
+    public static final String FAILED = "FAILED";
+
+    String trackingId;
+    String status;
+    int attempts;
+    String result;
+    String error;
+    Instant submittedAt;
+    Instant completedAt;
+
+    public static CreateEmployeeStatus queued(String trackingId, Instant submittedAt) {
+        return new CreateEmployeeStatus(trackingId, QUEUED, 0, null, null, submittedAt, null);
+    }
+
+    public CreateEmployeeStatus inProgress(int attempt) {
+        return new CreateEmployeeStatus(trackingId, IN_PROGRESS, attempt, null, error, submittedAt, null);
+    }
+
+    public CreateEmployeeStatus succeeded(String result, Instant completedAt) {
+        return new CreateEmployeeStatus(trackingId, SUCCEEDED, attempts, result, null, submittedAt, completedAt);
+    }
+
+    public CreateEmployeeStatus failed(String error, Instant completedAt) {
+        return new CreateEmployeeStatus(trackingId, FAILED, attempts, null, error, submittedAt, completedAt);
+    }
+
+    @JsonIgnore
+    public boolean isDone() {
+        return completedAt != null;
+    }
+}
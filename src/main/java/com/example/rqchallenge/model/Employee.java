@@ -1,5 +1,6 @@
 package com.example.rqchallenge.model;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
@@ -16,10 +17,13 @@ public class Employee {
     @JsonProperty("id")
     String id;
     @JsonProperty("employee_name")
+    @JsonAlias("name")
     String employeeName;
     @JsonProperty("employee_salary")
+    @JsonAlias("salary")
     Integer employeeSalary;
     @JsonProperty("employee_age")
+    @JsonAlias("age")
     Integer employeeAge;
     @JsonProperty("profile_image")
     String profileImage;
@@ -0,0 +1,58 @@
+package com.example.rqchallenge.model;
+
+import com.example.rqchallenge.exception.RqChallengeApplicationException;
+import org.springframework.http.HttpStatus;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum EmployeeField {
+    ID("id"),
+    NAME("employee_name"),
+    SALARY("employee_salary"),
+    AGE("employee_age"),
+    PROFILE_IMAGE("profile_image");
+
+    private final String jsonName;
+
+    EmployeeField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public static Set<EmployeeField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(EmployeeField.class);
+        }
+        Set<EmployeeField> selected = EnumSet.noneOf(EmployeeField.class);
+        for (String name : fields.split(",")) {
+            selected.add(fromJsonName(name.trim()));
+        }
+        return selected;
+    }
+
+    public static Employee project(Employee employee, Set<EmployeeField> fields) {
+        if (employee == null || fields.size() == values().length) {
+            return employee;
+        }
+        return new ProjectedEmployee(
+                fields.contains(ID) ? employee.getId() : null,
+                fields.contains(NAME) ? employee.getEmployeeName() : null,
+                fields.contains(SALARY) ? employee.getEmployeeSalary() : null,
+                fields.contains(AGE) ? employee.getEmployeeAge() : null,
+                fields.contains(PROFILE_IMAGE) ? employee.getProfileImage() : null
+        );
+    }
+
+    private static EmployeeField fromJsonName(String name) {
+        for (EmployeeField field : values()) {
+            if (field.jsonName.equals(name)) {
+                return field;
+            }
+        }
+        throw new RqChallengeApplicationException("Unsupported employee field :: " + name, HttpStatus.BAD_REQUEST);
+    }
+}
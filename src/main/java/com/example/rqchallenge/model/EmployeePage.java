@@ -0,0 +1,14 @@
+package com.example.rqchallenge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class EmployeePage {
+    private final List<Employee> employees;
+    private final int total;
+    private final String nextCursor;
+}
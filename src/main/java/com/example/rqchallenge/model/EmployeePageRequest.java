@@ -0,0 +1,21 @@
+package com.example.rqchallenge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePageRequest {
+    Integer limit;
+    String cursor;
+    String sort;
+    String fields;
+
+    public boolean isUnpaged() {
+        return limit == null && cursor == null && sort == null && fields == null;
+    }
+}
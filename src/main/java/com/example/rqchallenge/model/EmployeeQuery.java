@@ -0,0 +1,19 @@
+package com.example.rqchallenge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeQuery {
+    Integer salaryMin;
+    Integer salaryMax;
+    Integer ageMin;
+    Integer ageMax;
+    String nameLike;
+    boolean ignoreCase;
+}
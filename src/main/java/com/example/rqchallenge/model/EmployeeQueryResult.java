@@ -0,0 +1,12 @@
+package com.example.rqchallenge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EmployeeQueryResult {
+    private final EmployeePage page;
+    private final String plan;
+    private final long elapsedNanos;
+}
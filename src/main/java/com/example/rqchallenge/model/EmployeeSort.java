@@ -0,0 +1,59 @@
+package com.example.rqchallenge.model;
+
+import com.example.rqchallenge.exception.RqChallengeApplicationException;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class EmployeeSort {
+    private final String field;
+    private final boolean descending;
+
+    public static EmployeeSort parse(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return null;
+        }
+        String trimmed = sort.trim();
+        boolean descending = trimmed.startsWith("-");
+        String field = descending ? trimmed.substring(1) : trimmed;
+        switch (field) {
+            case "id":
+            case "name":
+            case "salary":
+            case "age":
+                return new EmployeeSort(field, descending);
+            default:
+                throw new RqChallengeApplicationException("Unsupported sort field :: " + field, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    public Comparator<Employee> comparator() {
+        switch (field) {
+            case "id":
+                return byString(Employee::getId);
+            case "name":
+                return byString(Employee::getEmployeeName);
+            case "salary":
+                return byInteger(Employee::getEmployeeSalary);
+            default:
+                return byInteger(Employee::getEmployeeAge);
+        }
+    }
+
+    private Comparator<Employee> byString(Function<Employee, String> extractor) {
+        Comparator<String> order = descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        return Comparator.comparing(extractor, Comparator.nullsLast(order));
+    }
+
+    private Comparator<Employee> byInteger(Function<Employee, Integer> extractor) {
+        Comparator<Integer> order = descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        return Comparator.comparing(extractor, Comparator.nullsLast(order));
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.rqchallenge.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * An employee restricted to the fields a client selected. Unselected fields are left out of the JSON rather than
+ * written as null; full employees keep serializing every field.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProjectedEmployee extends Employee {
+
+    public ProjectedEmployee(String id, String employeeName, Integer employeeSalary, Integer employeeAge, String profileImage) {
+        super(id, employeeName, employeeSalary, employeeAge, profileImage);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.rqchallenge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SalaryHistogramBucket {
+    private final long lowerBound;
+    private final long upperBound;
+    private final long count;
+}
@@ -0,0 +1,17 @@
+package com.example.rqchallenge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SalaryStatistics {
+    private final long count;
+    private final int min;
+    private final int max;
+    private final double average;
+    private final double standardDeviation;
+    private final int p50;
+    private final int p90;
+    private final int p99;
+}
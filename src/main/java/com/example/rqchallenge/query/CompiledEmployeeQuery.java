@@ -0,0 +1,155 @@
+package com.example.rqchallenge.query;
+
+import com.example.rqchallenge.exception.RqChallengeApplicationException;
+import com.example.rqchallenge.model.EmployeeQuery;
+import com.example.rqchallenge.store.EmployeeColumns;
+import org.springframework.http.HttpStatus;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Filter criteria validated once per request and turned into a row predicate holding only the criteria that were given.
+ * A salary range selective enough is answered from the salary order of the columns and the other criteria are applied
+ * to its rows; otherwise every row is scanned by the query engine. Name criteria are tested once per distinct name
+ * through the name dictionary rather than once per row.
+ */
+public final class CompiledEmployeeQuery {
+
+    static final String PLAN_ALL = "all";
+    static final String PLAN_SALARY_INDEX = "salary-index";
+    static final String PLAN_SCAN = "scan";
+
+    /**
+     * The salary order is used when the range covers at most one row in this many.
+     */
+    private static final int SALARY_INDEX_SELECTIVITY = 4;
+
+    private final boolean salaryRange;
+    private final int salaryMin;
+    private final int salaryMax;
+    private final boolean ageRange;
+    private final int ageMin;
+    private final int ageMax;
+    private final Predicate<String> nameFilter;
+
+    private CompiledEmployeeQuery(boolean salaryRange, int salaryMin, int salaryMax,
+                                  boolean ageRange, int ageMin, int ageMax, Predicate<String> nameFilter) {
+        this.salaryRange = salaryRange;
+        this.salaryMin = salaryMin;
+        this.salaryMax = salaryMax;
+        this.ageRange = ageRange;
+        this.ageMin = ageMin;
+        this.ageMax = ageMax;
+        this.nameFilter = nameFilter;
+    }
+
+    public static CompiledEmployeeQuery compile(EmployeeQuery query) {
+        int salaryMin = boundOf(query.getSalaryMin(), Integer.MIN_VALUE);
+        int salaryMax = boundOf(query.getSalaryMax(), Integer.MAX_VALUE);
+        int ageMin = boundOf(query.getAgeMin(), Integer.MIN_VALUE);
+        int ageMax = boundOf(query.getAgeMax(), Integer.MAX_VALUE);
+        if (salaryMin > salaryMax) {
+            throw new RqChallengeApplicationException("salaryMin must not be greater than salaryMax", HttpStatus.BAD_REQUEST);
+        }
+        if (ageMin > ageMax) {
+            throw new RqChallengeApplicationException("ageMin must not be greater than ageMax", HttpStatus.BAD_REQUEST);
+        }
+        return new CompiledEmployeeQuery(
+                query.getSalaryMin() != null || query.getSalaryMax() != null,
+                salaryMin,
+                salaryMax,
+                query.getAgeMin() != null || query.getAgeMax() != null,
+                ageMin,
+                ageMax,
+                nameFilterOf(query.getNameLike(), query.isIgnoreCase())
+        );
+    }
+
+    public Execution execute(EmployeeColumns columns, EmployeeQueryEngine queryEngine) {
+        if (!salaryRange && !ageRange && nameFilter == null) {
+            int[] rows = new int[columns.size()];
+            Arrays.setAll(rows, row -> row);
+            return new Execution(rows, PLAN_ALL);
+        }
+        if (salaryRange && (long) columns.estimateRowsWithSalaryBetween(salaryMin, salaryMax) * SALARY_INDEX_SELECTIVITY <= columns.size()) {
+            int[] candidates = columns.rowsWithSalaryBetween(salaryMin, salaryMax);
+            IntPredicate residual = predicate(columns, false);
+            return new Execution(residual == null ? candidates : retain(candidates, residual), PLAN_SALARY_INDEX);
+        }
+        return new Execution(queryEngine.filter(columns, predicate(columns, true)), PLAN_SCAN);
+    }
+
+    private IntPredicate predicate(EmployeeColumns columns, boolean includeSalary) {
+        IntPredicate predicate = null;
+        if (nameFilter != null) {
+            BitSet matchingNames = columns.nameCodesMatching(nameFilter);
+            predicate = and(predicate, row -> {
+                int code = columns.nameCode(row);
+                return code >= 0 && matchingNames.get(code);
+            });
+        }
+        if (includeSalary && salaryRange) {
+            int min = salaryMin;
+            int max = salaryMax;
+            predicate = and(predicate, row -> columns.hasSalary(row) && columns.salary(row) >= min && columns.salary(row) <= max);
+        }
+        if (ageRange) {
+            int min = ageMin;
+            int max = ageMax;
+            predicate = and(predicate, row -> columns.hasAge(row) && columns.age(row) >= min && columns.age(row) <= max);
+        }
+        return predicate;
+    }
+
+    private static IntPredicate and(IntPredicate left, IntPredicate right) {
+        return left == null ? right : left.and(right);
+    }
+
+    private static int[] retain(int[] rows, IntPredicate rowFilter) {
+        int[] retained = new int[rows.length];
+        int size = 0;
+        for (int row : rows) {
+            if (rowFilter.test(row)) {
+                retained[size++] = row;
+            }
+        }
+        return Arrays.copyOf(retained, size);
+    }
+
+    private static int boundOf(Integer bound, int unbounded) {
+        return bound == null ? unbounded : bound;
+    }
+
+    private static Predicate<String> nameFilterOf(String nameLike, boolean ignoreCase) {
+        if (nameLike == null || nameLike.isEmpty()) {
+            return null;
+        }
+        if (!ignoreCase) {
+            return name -> name.contains(nameLike);
+        }
+        String folded = nameLike.toLowerCase(Locale.ROOT);
+        return name -> name.toLowerCase(Locale.ROOT).contains(folded);
+    }
+
+    public static final class Execution {
+        private final int[] rows;
+        private final String plan;
+
+        private Execution(int[] rows, String plan) {
+            this.rows = rows;
+            this.plan = plan;
+        }
+
+        public int[] getRows() {
+            return rows;
+        }
+
+        public String getPlan() {
+            return plan;
+        }
+    }
+}
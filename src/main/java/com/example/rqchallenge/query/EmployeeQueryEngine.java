@@ -0,0 +1,261 @@
+package com.example.rqchallenge.query;
+
+import com.example.rqchallenge.store.EmployeeColumns;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs filters, aggregations and top-N selections over the rows of an {@link EmployeeColumns}.
+ * Below the parallel threshold the work runs on the calling thread; above it the row range is split
+ * across a dedicated fork-join pool and the partial results of each partition are merged pairwise,
+ * with top-N partitions keeping only their own n best rows.
+ */
+@Component
+public class EmployeeQueryEngine {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${employeeQuery.parallelism:0}")
+    private int parallelism;
+
+    @Value("${employeeQuery.parallelThreshold:8192}")
+    private int parallelThreshold;
+
+    private ForkJoinPool pool;
+
+    private Counter sequentialExecutions;
+    private Counter parallelExecutions;
+
+    @PostConstruct
+    void init() {
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        pool = new ForkJoinPool(parallelism, currentPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(currentPool);
+            thread.setName("employee-query-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+
+        sequentialExecutions = meterRegistry.counter("employee.query.executions", "mode", "sequential");
+        parallelExecutions = meterRegistry.counter("employee.query.executions", "mode", "parallel");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public int[] filter(EmployeeColumns columns, IntPredicate rowFilter) {
+        return aggregate(
+                columns,
+                RowBuffer::new,
+                (buffer, row) -> {
+                    if (rowFilter.test(row)) {
+                        buffer.add(row);
+                    }
+                },
+                RowBuffer::append
+        ).toArray();
+    }
+
+    /**
+     * Rows of the n highest salaries among the rows passing the filter, highest first, ordered like
+     * {@link EmployeeColumns#topRowsBySalary}.
+     */
+    public int[] topBySalary(EmployeeColumns columns, IntPredicate rowFilter, int n) {
+        if (n <= 0) {
+            return new int[0];
+        }
+        return aggregateRanges(
+                columns,
+                rangeSize -> new TopKeys(n, Math.min(n, rangeSize)),
+                (top, row) -> {
+                    if (rowFilter.test(row)) {
+                        top.offer(columns.salaryRankKey(row));
+                    }
+                },
+                TopKeys::merge
+        ).rowsDescending();
+    }
+
+    public <A> A aggregate(EmployeeColumns columns, Supplier<A> identity, ObjIntConsumer<A> accumulator, BinaryOperator<A> combiner) {
+        return aggregateRanges(columns, rangeSize -> identity.get(), accumulator, combiner);
+    }
+
+    /**
+     * Like {@link #aggregate}, with the identity sized for the number of rows its partition covers.
+     */
+    private <A> A aggregateRanges(EmployeeColumns columns, IntFunction<A> identity, ObjIntConsumer<A> accumulator, BinaryOperator<A> combiner) {
+        int size = columns.size();
+        if (size < parallelThreshold || parallelism == 1) {
+            sequentialExecutions.increment();
+            return accumulate(0, size, identity, accumulator);
+        }
+        parallelExecutions.increment();
+        int leafSize = Math.max(1024, size / (parallelism * 4));
+        return pool.invoke(new RangeTask<>(0, size, leafSize, identity, accumulator, combiner));
+    }
+
+    private static <A> A accumulate(int from, int to, IntFunction<A> identity, ObjIntConsumer<A> accumulator) {
+        A partial = identity.apply(to - from);
+        for (int row = from; row < to; row++) {
+            accumulator.accept(partial, row);
+        }
+        return partial;
+    }
+
+    private static final class RangeTask<A> extends RecursiveTask<A> {
+        private final int from;
+        private final int to;
+        private final int leafSize;
+        private final IntFunction<A> identity;
+        private final ObjIntConsumer<A> accumulator;
+        private final BinaryOperator<A> combiner;
+
+        private RangeTask(int from, int to, int leafSize, IntFunction<A> identity, ObjIntConsumer<A> accumulator, BinaryOperator<A> combiner) {
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+            this.identity = identity;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= leafSize) {
+                return accumulate(from, to, identity, accumulator);
+            }
+            int middle = (from + to) >>> 1;
+            RangeTask<A> left = new RangeTask<>(from, middle, leafSize, identity, accumulator, combiner);
+            RangeTask<A> right = new RangeTask<>(middle, to, leafSize, identity, accumulator, combiner);
+            right.fork();
+            A leftResult = left.compute();
+            return combiner.apply(leftResult, right.join());
+        }
+    }
+
+    private static final class RowBuffer {
+        private int[] rows = new int[16];
+        private int size;
+
+        private void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        private RowBuffer append(RowBuffer other) {
+            if (size + other.size > rows.length) {
+                rows = Arrays.copyOf(rows, Math.max(rows.length * 2, size + other.size));
+            }
+            System.arraycopy(other.rows, 0, rows, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(rows, size);
+        }
+    }
+
+    /**
+     * Bounded min-heap of salary rank keys holding the n largest keys offered so far. The heap starts at the
+     * size of the partition it collects and only grows towards n when partitions are merged.
+     */
+    private static final class TopKeys {
+        private final int limit;
+        private long[] heap;
+        private int size;
+
+        private TopKeys(int limit, int initialCapacity) {
+            this.limit = limit;
+            this.heap = new long[initialCapacity];
+        }
+
+        private void offer(long key) {
+            if (size == heap.length && size < limit) {
+                heap = Arrays.copyOf(heap, Math.min(limit, Math.max(16, size * 2)));
+            }
+            if (size < heap.length) {
+                heap[size] = key;
+                siftUp(size++);
+            } else if (key > heap[0]) {
+                heap[0] = key;
+                siftDown(0);
+            }
+        }
+
+        private TopKeys merge(TopKeys other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.heap[i]);
+            }
+            return this;
+        }
+
+        private int[] rowsDescending() {
+            long[] keys = Arrays.copyOf(heap, size);
+            Arrays.sort(keys);
+            int[] rows = new int[size];
+            for (int i = 0; i < size; i++) {
+                rows[i] = EmployeeColumns.rowOf(keys[size - 1 - i]);
+            }
+            return rows;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (heap[parent] <= heap[index]) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int smallest = index;
+                int left = index * 2 + 1;
+                int right = left + 1;
+                if (left < size && heap[left] < heap[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && heap[right] < heap[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(smallest, index);
+                index = smallest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            long swapped = heap[i];
+            heap[i] = heap[j];
+            heap[j] = swapped;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.rqchallenge.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AIMD control over a {@link TokenBucketRateLimiter}. The rate creeps up additively while callers are actually
+ * waiting on the limiter and the upstream keeps succeeding, and is cut multiplicatively when the upstream answers
+ * 429. Cuts happen at most once per cooldown, so a burst of 429s from one overload window counts as one signal.
+ * Callers wait at most {@code maxWaitMillis} for a permit and are shed otherwise.
+ */
+public class AdaptiveRateLimiter {
+
+    private final TokenBucketRateLimiter bucket;
+
+    private final double minPermitsPerSecond;
+
+    private final double maxPermitsPerSecond;
+
+    private final double additiveIncrease;
+
+    private final double decreaseFactor;
+
+    private final long cooldownNanos;
+
+    private final long maxWaitNanos;
+
+    private final Counter acquired;
+
+    private final Counter shed;
+
+    private final Counter decreases;
+
+    private final Timer waits;
+
+    private double permitsPerSecond;
+
+    private long lastDecreaseNanos;
+
+    private volatile boolean saturated;
+
+    public AdaptiveRateLimiter(double initialPermitsPerSecond, double minPermitsPerSecond, double maxPermitsPerSecond,
+                               double additiveIncrease, double decreaseFactor, long cooldownMillis, long maxWaitMillis,
+                               MeterRegistry meterRegistry) {
+        this.bucket = new TokenBucketRateLimiter(initialPermitsPerSecond);
+        this.permitsPerSecond = initialPermitsPerSecond;
+        this.minPermitsPerSecond = minPermitsPerSecond;
+        this.maxPermitsPerSecond = maxPermitsPerSecond;
+        this.additiveIncrease = additiveIncrease;
+        this.decreaseFactor = decreaseFactor;
+        this.cooldownNanos = TimeUnit.MILLISECONDS.toNanos(cooldownMillis);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.lastDecreaseNanos = System.nanoTime() - cooldownNanos;
+
+        this.acquired = meterRegistry.counter("employee.client.ratelimit.requests", "outcome", "acquired");
+        this.shed = meterRegistry.counter("employee.client.ratelimit.requests", "outcome", "shed");
+        this.decreases = meterRegistry.counter("employee.client.ratelimit.decreases");
+        this.waits = meterRegistry.timer("employee.client.ratelimit.wait");
+        Gauge.builder("employee.client.ratelimit.permits", this, AdaptiveRateLimiter::getPermitsPerSecond)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Waits up to the configured bound for a permit. Returns false when the request should be shed.
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        long waitedNanos = bucket.tryAcquireNanos(maxWaitNanos, TimeUnit.NANOSECONDS);
+        if (waitedNanos < 0) {
+            saturated = true;
+            shed.increment();
+            return false;
+        }
+        saturated = waitedNanos > 0;
+        waits.record(waitedNanos, TimeUnit.NANOSECONDS);
+        acquired.increment();
+        return true;
+    }
+
+    /**
+     * The upstream accepted a call. Only raises the rate while the limiter is what holds callers back,
+     * otherwise an idle period would ratchet the rate up to the maximum without any evidence the upstream copes.
+     */
+    public synchronized void onSuccess() {
+        if (!saturated || permitsPerSecond >= maxPermitsPerSecond) {
+            return;
+        }
+        setRate(Math.min(maxPermitsPerSecond, permitsPerSecond + additiveIncrease / permitsPerSecond));
+    }
+
+    /**
+     * The upstream answered 429.
+     */
+    public synchronized void onThrottled() {
+        long now = System.nanoTime();
+        if (now - lastDecreaseNanos < cooldownNanos) {
+            return;
+        }
+        lastDecreaseNanos = now;
+        decreases.increment();
+        setRate(Math.max(minPermitsPerSecond, permitsPerSecond * decreaseFactor));
+    }
+
+    public synchronized double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    private void setRate(double rate) {
+        permitsPerSecond = rate;
+        bucket.setPermitsPerSecond(rate);
+    }
+}
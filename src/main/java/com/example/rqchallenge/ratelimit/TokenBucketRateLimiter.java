@@ -0,0 +1,87 @@
+package com.example.rqchallenge.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket that hands out permits at a fixed rate and stores up to one second's worth for bursts.
+ * A caller reserves a permit and is told how long to wait for it, so the waiting happens outside the lock.
+ */
+public class TokenBucketRateLimiter {
+
+    private double permitsPerSecond;
+
+    private double storedPermits;
+
+    private long nextFreeNanos;
+
+    public TokenBucketRateLimiter(double permitsPerSecond) {
+        this.nextFreeNanos = System.nanoTime();
+        setPermitsPerSecond(permitsPerSecond);
+    }
+
+    public synchronized double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public synchronized void setPermitsPerSecond(double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("Permits per second must be positive");
+        }
+        if (this.permitsPerSecond > 0) {
+            resync(System.nanoTime());
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.storedPermits = Math.min(storedPermits, permitsPerSecond);
+    }
+
+    public void acquire() throws InterruptedException {
+        sleep(reserve(Long.MAX_VALUE));
+    }
+
+    public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        return tryAcquireNanos(timeout, unit) >= 0;
+    }
+
+    /**
+     * Like {@link #tryAcquire(long, TimeUnit)} but reports how long the caller waited for its permit,
+     * or -1 when the permit would not have been available within the timeout.
+     */
+    public long tryAcquireNanos(long timeout, TimeUnit unit) throws InterruptedException {
+        long waitNanos = reserve(unit.toNanos(timeout));
+        if (waitNanos < 0) {
+            return -1;
+        }
+        sleep(waitNanos);
+        return waitNanos;
+    }
+
+    private synchronized long reserve(long maxWaitNanos) {
+        long now = System.nanoTime();
+        resync(now);
+        long waitNanos = Math.max(0, nextFreeNanos - now);
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+        double fromStore = Math.min(1, storedPermits);
+        storedPermits -= fromStore;
+        nextFreeNanos += (long) ((1 - fromStore) * intervalNanos());
+        return waitNanos;
+    }
+
+    private void resync(long now) {
+        if (now > nextFreeNanos) {
+            storedPermits = Math.min(permitsPerSecond, storedPermits + (now - nextFreeNanos) / intervalNanos());
+            nextFreeNanos = now;
+        }
+    }
+
+    private double intervalNanos() {
+        return TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+    }
+
+    private static void sleep(long nanos) throws InterruptedException {
+        if (nanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.rqchallenge.replica;
+
+import com.example.rqchallenge.cache.EmployeeSnapshot;
+import com.example.rqchallenge.cache.EmployeeSnapshotCache;
+import com.example.rqchallenge.cache.EmployeeSnapshotListener;
+import com.example.rqchallenge.dto.EmployeeReplicaDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Local, persisted replica of the employee snapshot. Every snapshot the cache installs (full loads, and the
+ * write-through patches for creates and deletes) is written to a JSON file, replacing it atomically. On startup
+ * the file seeds the cache before any request is served, and a background job reconciles with the upstream
+ * on a fixed interval. Reads are served from the in-memory snapshot, so they keep working while the upstream is down.
+ */
+@Component
+@ConditionalOnProperty(name = "employeeReplica.enabled", havingValue = "true")
+public class EmployeeReplica implements EmployeeSnapshotListener, SmartInitializingSingleton {
+
+    @Autowired
+    private ObjectProvider<EmployeeSnapshotCache> employeeSnapshotCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${employeeReplica.path:data/employee-replica.json}")
+    private Path path;
+
+    @Value("${employeeReplica.syncIntervalMillis:60000}")
+    private long syncIntervalMillis;
+
+    private final AtomicReference<EmployeeSnapshot> pendingWrite = new AtomicReference<>();
+
+    private ScheduledExecutorService executor;
+
+    private volatile boolean seeding;
+
+    Logger logger = LoggerFactory.getLogger(EmployeeReplica.class);
+
+    @PostConstruct
+    void init() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("employee-replica-");
+        threadFactory.setDaemon(true);
+        executor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        seedCache();
+        executor.scheduleWithFixedDelay(this::sync, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void onSnapshotLoaded(EmployeeSnapshot snapshot) {
+        if (seeding) {
+            return;
+        }
+        if (pendingWrite.getAndSet(snapshot) == null) {
+            executor.execute(this::writePending);
+        }
+    }
+
+    boolean seedCache() {
+        if (!Files.exists(path)) {
+            logger.info("No employee replica at :: {}, first read will load from upstream", path);
+            return false;
+        }
+        try {
+            EmployeeReplicaDto replica = objectMapper.readValue(path.toFile(), EmployeeReplicaDto.class);
+            if (replica.getData() == null) {
+                return false;
+            }
+            seeding = true;
+            boolean seeded = employeeSnapshotCache.getObject().seed(replica.getData(), replica.getLoadedAtMillis());
+            if (seeded) {
+                logger.info("Seeded employee snapshot from replica :: {} employees saved at {}", replica.getData().size(), replica.getSavedAtMillis());
+            }
+            return seeded;
+        } catch (IOException e) {
+            meterRegistry.counter("employee.replica.reads", "outcome", "failure").increment();
+            logger.warn("Unable to read employee replica :: {} :: {}", path, e.getMessage());
+            return false;
+        } finally {
+            seeding = false;
+        }
+    }
+
+    /**
+     * Blocks until snapshots handed to the replica so far have been written.
+     */
+    void awaitPendingWrites() throws InterruptedException, ExecutionException, TimeoutException {
+        executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+
+    private void sync() {
+        employeeSnapshotCache.getObject().refresh().whenComplete((snapshot, error) -> {
+            if (error != null) {
+                logger.warn("Employee replica sync failed, keeping local data :: {}", error.getMessage());
+            }
+        });
+    }
+
+    private void writePending() {
+        EmployeeSnapshot snapshot = pendingWrite.getAndSet(null);
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            write(snapshot);
+            meterRegistry.counter("employee.replica.writes", "outcome", "success").increment();
+        } catch (IOException | RuntimeException e) {
+            meterRegistry.counter("employee.replica.writes", "outcome", "failure").increment();
+            logger.error("Unable to write employee replica :: {} :: {}", path, e.getMessage());
+        }
+    }
+
+    private void write(EmployeeSnapshot snapshot) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        objectMapper.writeValue(temp.toFile(), new EmployeeReplicaDto(
+                System.currentTimeMillis(),
+                snapshot.getLoadedAtMillis(),
+                snapshot.getEmployees()
+        ));
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
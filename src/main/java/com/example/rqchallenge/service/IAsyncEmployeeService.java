@@ -0,0 +1,11 @@
+package com.example.rqchallenge.service;
+
+import com.example.rqchallenge.model.CreateEmployeeRequest;
+import com.example.rqchallenge.model.CreateEmployeeStatus;
+
+public interface IAsyncEmployeeService {
+
+    CreateEmployeeStatus submitCreate(CreateEmployeeRequest createRequest);
+
+    CreateEmployeeStatus getCreateStatus(String trackingId);
+}
@@ -0,0 +1,15 @@
+package com.example.rqchallenge.service;
+
+import com.example.rqchallenge.model.BulkOperationResult;
+import com.example.rqchallenge.model.CreateEmployeeRequest;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+public interface IBulkEmployeeService {
+
+    CompletableFuture<Void> createEmployees(List<CreateEmployeeRequest> createRequests, Consumer<BulkOperationResult> onResult);
+
+    CompletableFuture<Void> deleteEmployeesByIds(List<String> ids, Consumer<BulkOperationResult> onResult);
+}
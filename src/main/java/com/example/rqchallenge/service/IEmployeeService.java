@@ -1,24 +1,53 @@
 package com.example.rqchallenge.service;
 
+import com.example.rqchallenge.model.AgeBandSalary;
 import com.example.rqchallenge.model.CreateEmployeeRequest;
 import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeePage;
+import com.example.rqchallenge.model.EmployeePageRequest;
+import com.example.rqchallenge.model.EmployeeQuery;
+import com.example.rqchallenge.model.EmployeeQueryResult;
+import com.example.rqchallenge.model.SalaryHistogramBucket;
+import com.example.rqchallenge.model.SalaryStatistics;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
 
 @Service
 public interface IEmployeeService {
 
     List<Employee> getAllEmployees();
 
+    OptionalLong getLastSnapshotVersion();
+
+    EmployeePage getEmployeePage(EmployeePageRequest pageRequest);
+
+    void streamAllEmployees(Consumer<Employee> onEmployee);
+
     List<Employee> getEmployeesByNames(String searchString);
 
+    List<Employee> getEmployeesByNames(String searchString, boolean ignoreCase, boolean prefix);
+
+    EmployeePage getEmployeePageByNames(String searchString, boolean ignoreCase, boolean prefix, EmployeePageRequest pageRequest);
+
+    EmployeeQueryResult queryEmployees(EmployeeQuery query, EmployeePageRequest pageRequest);
+
     Employee getEmployeeById(String id);
 
     Integer getHighestSalary();
 
     List<String> getTopTenHighestEarningEmployeeNames();
 
+    List<String> getTopHighestEarningEmployeeNames(int n);
+
+    SalaryStatistics getSalaryStatistics();
+
+    List<SalaryHistogramBucket> getSalaryHistogram(int buckets);
+
+    List<AgeBandSalary> getSalaryByAgeBand(int bandWidth);
+
     String createEmployee(CreateEmployeeRequest employeeRequest);
 
     String deleteEmployeeById(String id);
@@ -0,0 +1,23 @@
+package com.example.rqchallenge.service;
+
+import com.example.rqchallenge.model.CreateEmployeeRequest;
+import com.example.rqchallenge.model.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface IReactiveEmployeeService {
+
+    Flux<Employee> getAllEmployees();
+
+    Flux<Employee> getEmployeesByNames(String searchString);
+
+    Mono<Employee> getEmployeeById(String id);
+
+    Mono<Integer> getHighestSalary();
+
+    Flux<String> getTopTenHighestEarningEmployeeNames();
+
+    Mono<String> createEmployee(CreateEmployeeRequest employeeRequest);
+
+    Mono<String> deleteEmployeeById(String id);
+}
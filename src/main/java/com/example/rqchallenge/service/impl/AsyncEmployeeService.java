@@ -0,0 +1,262 @@
+package com.example.rqchallenge.service.impl;
+
+import com.example.rqchallenge.client.EmployeeClient;
+import com.example.rqchallenge.exception.RateLimitExceededException;
+import com.example.rqchallenge.exception.RqChallengeApplicationException;
+import com.example.rqchallenge.exception.UpstreamUnavailableException;
+import com.example.rqchallenge.model.CreateEmployeeRequest;
+import com.example.rqchallenge.model.CreateEmployeeStatus;
+import com.example.rqchallenge.service.IAsyncEmployeeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts creates into a bounded queue and writes them to the upstream in the background.
+ * A single dispatcher takes creates off the queue and hands each one to a fixed set of workers, so at most
+ * maxConcurrency upstream calls run at once; when the queue is full new creates are refused with a 503 and a
+ * Retry-After rather than piling up. The upstream only creates one employee per call, so creates are not batched.
+ * Creates are not idempotent, so only failures where the upstream certainly did not act are retried: a local
+ * rate limit rejection, or an upstream 429 that says when to come back with a Retry-After.
+ * On shutdown new creates are refused and the queue is drained for a bounded time; creates still queued or
+ * unfinished after that are reported as failed.
+ */
+@Service
+public class AsyncEmployeeService implements IAsyncEmployeeService {
+
+    @Autowired
+    private EmployeeClient employeeClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${employeeAsyncCreate.queueCapacity:1000}")
+    private int queueCapacity;
+
+    @Value("${employeeAsyncCreate.maxConcurrency:4}")
+    private int maxConcurrency;
+
+    @Value("${employeeAsyncCreate.maxAttempts:3}")
+    private int maxAttempts;
+
+    @Value("${employeeAsyncCreate.initialBackoffMillis:200}")
+    private long initialBackoffMillis;
+
+    @Value("${employeeAsyncCreate.maxBackoffMillis:5000}")
+    private long maxBackoffMillis;
+
+    @Value("${employeeAsyncCreate.statusRetentionMillis:600000}")
+    private long statusRetentionMillis;
+
+    @Value("${employeeAsyncCreate.shutdownTimeoutMillis:10000}")
+    private long shutdownTimeoutMillis;
+
+    private BlockingQueue<PendingCreate> queue;
+
+    private final Map<String, CreateEmployeeStatus> statuses = new ConcurrentHashMap<>();
+
+    private ExecutorService dispatcher;
+
+    private ExecutorService workers;
+
+    private Semaphore inFlight;
+
+    private volatile boolean accepting;
+
+    private Counter accepted;
+    private Counter rejected;
+    private Counter succeeded;
+    private Counter failed;
+    private Counter retried;
+
+    Logger logger = LoggerFactory.getLogger(AsyncEmployeeService.class);
+
+    @PostConstruct
+    void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        inFlight = new Semaphore(maxConcurrency);
+        CustomizableThreadFactory dispatcherThreads = new CustomizableThreadFactory("employee-create-dispatch-");
+        dispatcherThreads.setDaemon(true);
+        dispatcher = Executors.newSingleThreadExecutor(dispatcherThreads);
+        CustomizableThreadFactory workerThreads = new CustomizableThreadFactory("employee-create-worker-");
+        workerThreads.setDaemon(true);
+        workers = Executors.newFixedThreadPool(maxConcurrency, workerThreads);
+
+        accepted = meterRegistry.counter("employee.create.async", "outcome", "accepted");
+        rejected = meterRegistry.counter("employee.create.async", "outcome", "rejected");
+        succeeded = meterRegistry.counter("employee.create.async", "outcome", "succeeded");
+        failed = meterRegistry.counter("employee.create.async", "outcome", "failed");
+        retried = meterRegistry.counter("employee.create.async", "outcome", "retried");
+        meterRegistry.gauge("employee.create.queue.size", queue, BlockingQueue::size);
+
+        accepting = true;
+        dispatcher.execute(this::drain);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        accepting = false;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMillis);
+        dispatcher.shutdown();
+        if (!dispatcher.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+            dispatcher.shutdownNow();
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+            workers.shutdownNow();
+        }
+        queue.clear();
+        Instant now = Instant.now();
+        int[] unfinished = new int[1];
+        statuses.replaceAll((id, status) -> {
+            if (status.isDone()) {
+                return status;
+            }
+            unfinished[0]++;
+            return status.failed("Service shut down before the create completed", now);
+        });
+        if (unfinished[0] > 0) {
+            failed.increment(unfinished[0]);
+            logger.warn("Marked creates unfinished at shutdown as failed :: " + unfinished[0]);
+        }
+    }
+
+    @Override
+    public CreateEmployeeStatus submitCreate(CreateEmployeeRequest createRequest) {
+        if (createRequest == null || createRequest.isInvalid()) {
+            throw new RqChallengeApplicationException("Create request does not have required input", HttpStatus.BAD_REQUEST);
+        }
+        if (!accepting) {
+            rejected.increment();
+            throw new UpstreamUnavailableException("Service is shutting down, please retry later", Duration.ofSeconds(1));
+        }
+        String trackingId = UUID.randomUUID().toString();
+        CreateEmployeeStatus queued = CreateEmployeeStatus.queued(trackingId, Instant.now());
+        statuses.put(trackingId, queued);
+        if (!queue.offer(new PendingCreate(trackingId, createRequest))) {
+            statuses.remove(trackingId);
+            rejected.increment();
+            throw new UpstreamUnavailableException("Create queue is full, please retry later", Duration.ofSeconds(1));
+        }
+        accepted.increment();
+        return queued;
+    }
+
+    @Override
+    public CreateEmployeeStatus getCreateStatus(String trackingId) {
+        CreateEmployeeStatus status = statuses.get(trackingId);
+        if (status == null) {
+            throw new RqChallengeApplicationException("No create is tracked with id :: " + trackingId, HttpStatus.NOT_FOUND);
+        }
+        return status;
+    }
+
+    private void drain() {
+        long lastPruneMillis = System.currentTimeMillis();
+        while (!Thread.currentThread().isInterrupted() && (accepting || !queue.isEmpty())) {
+            try {
+                PendingCreate pending = queue.poll(accepting ? 1000 : 0, TimeUnit.MILLISECONDS);
+                if (pending != null) {
+                    inFlight.acquire();
+                    workers.execute(() -> {
+                        try {
+                            write(pending);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+                if (System.currentTimeMillis() - lastPruneMillis >= 1000) {
+                    pruneCompleted();
+                    lastPruneMillis = System.currentTimeMillis();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                logger.error("Dispatching queued creates failed :: " + e.getMessage());
+            }
+        }
+    }
+
+    private void write(PendingCreate pending) {
+        CreateEmployeeRequest createRequest = pending.createRequest;
+        for (int attempt = 1; ; attempt++) {
+            int current = attempt;
+            statuses.computeIfPresent(pending.trackingId, (id, status) -> status.inProgress(current));
+            try {
+                String result = employeeClient.createEmployee(createRequest.getName(), createRequest.getSalary(), createRequest.getAge());
+                statuses.computeIfPresent(pending.trackingId, (id, status) -> status.succeeded(result, Instant.now()));
+                succeeded.increment();
+                return;
+            } catch (RuntimeException e) {
+                if (!isRetryable(e) || attempt >= maxAttempts) {
+                    logger.error("Queued create failed for :: " + pending.trackingId + " :: " + e.getMessage());
+                    statuses.computeIfPresent(pending.trackingId, (id, status) -> status.failed(e.getMessage(), Instant.now()));
+                    failed.increment();
+                    return;
+                }
+                retried.increment();
+                try {
+                    Thread.sleep(delayMillis(attempt, e));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    statuses.computeIfPresent(pending.trackingId, (id, status) -> status.failed(e.getMessage(), Instant.now()));
+                    failed.increment();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static boolean isRetryable(RuntimeException e) {
+        if (e instanceof RateLimitExceededException) {
+            return true;
+        }
+        return e instanceof RqChallengeApplicationException
+                && ((RqChallengeApplicationException) e).getStatus() == HttpStatus.TOO_MANY_REQUESTS
+                && ((RqChallengeApplicationException) e).getRetryAfter() != null;
+    }
+
+    private long delayMillis(int attempt, RuntimeException e) {
+        long cap = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 30));
+        long delay = ThreadLocalRandom.current().nextLong(cap + 1);
+        Duration retryAfter = ((RqChallengeApplicationException) e).getRetryAfter();
+        return retryAfter == null ? delay : Math.max(delay, Math.min(retryAfter.toMillis(), maxBackoffMillis));
+    }
+
+    private void pruneCompleted() {
+        Instant cutoff = Instant.now().minusMillis(statusRetentionMillis);
+        statuses.values().removeIf(status -> status.isDone() && status.getCompletedAt().isBefore(cutoff));
+    }
+
+    private static final class PendingCreate {
+        private final String trackingId;
+        private final CreateEmployeeRequest createRequest;
+
+        private PendingCreate(String trackingId, CreateEmployeeRequest createRequest) {
+            this.trackingId = trackingId;
+            this.createRequest = createRequest;
+        }
+    }
+}
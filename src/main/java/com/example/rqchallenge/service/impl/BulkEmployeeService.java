@@ -0,0 +1,162 @@
+package com.example.rqchallenge.service.impl;
+
+import com.example.rqchallenge.client.EmployeeClient;
+import com.example.rqchallenge.exception.RqChallengeApplicationException;
+import com.example.rqchallenge.exception.UpstreamUnavailableException;
+import com.example.rqchallenge.model.BulkOperationResult;
+import com.example.rqchallenge.model.CreateEmployeeRequest;
+import com.example.rqchallenge.ratelimit.TokenBucketRateLimiter;
+import com.example.rqchallenge.service.IBulkEmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+@Service
+public class BulkEmployeeService implements IBulkEmployeeService {
+
+    @Autowired
+    private EmployeeClient employeeClient;
+
+    @Value("${employeeBulk.maxConcurrency:8}")
+    private int maxConcurrency;
+
+    @Value("${employeeBulk.permitsPerSecond:20}")
+    private double permitsPerSecond;
+
+    @Value("${employeeBulk.maxBatchSize:10000}")
+    private int maxBatchSize;
+
+    @Value("${employeeBulk.maxConcurrentOperations:4}")
+    private int maxConcurrentOperations;
+
+    private ExecutorService dispatcher;
+
+    private ExecutorService workers;
+
+    private TokenBucketRateLimiter rateLimiter;
+
+    Logger logger = LoggerFactory.getLogger(BulkEmployeeService.class);
+
+    @PostConstruct
+    void init() {
+        CustomizableThreadFactory dispatcherThreads = new CustomizableThreadFactory("employee-bulk-dispatch-");
+        dispatcherThreads.setDaemon(true);
+        dispatcher = new ThreadPoolExecutor(maxConcurrentOperations, maxConcurrentOperations, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), dispatcherThreads);
+        ((ThreadPoolExecutor) dispatcher).allowCoreThreadTimeOut(true);
+        CustomizableThreadFactory workerThreads = new CustomizableThreadFactory("employee-bulk-worker-");
+        workerThreads.setDaemon(true);
+        workers = Executors.newFixedThreadPool(maxConcurrency, workerThreads);
+        rateLimiter = new TokenBucketRateLimiter(permitsPerSecond);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    @Override
+    public CompletableFuture<Void> createEmployees(List<CreateEmployeeRequest> createRequests, Consumer<BulkOperationResult> onResult) {
+        return run(createRequests.size(), index -> createEmployee(index, createRequests.get(index)), onResult);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteEmployeesByIds(List<String> ids, Consumer<BulkOperationResult> onResult) {
+        return run(ids.size(), index -> deleteEmployee(index, ids.get(index)), onResult);
+    }
+
+    private CompletableFuture<Void> run(int size, IntFunction<BulkOperationResult> operation, Consumer<BulkOperationResult> onResult) {
+        if (size > maxBatchSize) {
+            throw new RqChallengeApplicationException("Bulk request exceeds maximum batch size of " + maxBatchSize, HttpStatus.BAD_REQUEST);
+        }
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        try {
+            dispatcher.execute(() -> dispatch(size, operation, onResult, completion));
+        } catch (RejectedExecutionException e) {
+            throw new UpstreamUnavailableException("Too many bulk operations in progress, please retry later", Duration.ofSeconds(1));
+        }
+        return completion;
+    }
+
+    /**
+     * Hands items to the workers until all are dispatched or the caller cancels the completion, then waits for
+     * the items already handed over. Items not yet started when the completion is cancelled are skipped.
+     */
+    private void dispatch(int size, IntFunction<BulkOperationResult> operation, Consumer<BulkOperationResult> onResult,
+                          CompletableFuture<Void> completion) {
+        Semaphore inFlight = new Semaphore(maxConcurrency);
+        try {
+            for (int i = 0; i < size && !completion.isDone(); i++) {
+                int index = i;
+                inFlight.acquire();
+                rateLimiter.acquire();
+                workers.execute(() -> {
+                    try {
+                        if (!completion.isDone()) {
+                            BulkOperationResult result = operation.apply(index);
+                            if (!completion.isDone()) {
+                                onResult.accept(result);
+                            }
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            inFlight.acquire(maxConcurrency);
+            completion.complete(null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            completion.completeExceptionally(e);
+        } catch (RuntimeException e) {
+            logger.error("Bulk operation aborted :: " + e.getMessage());
+            completion.completeExceptionally(e);
+        }
+    }
+
+    private BulkOperationResult createEmployee(int index, CreateEmployeeRequest createRequest) {
+        if (createRequest == null || createRequest.isInvalid()) {
+            return BulkOperationResult.failure(index, null, "Create request does not have required input");
+        }
+        try {
+            String status = employeeClient.createEmployee(
+                    createRequest.getName(),
+                    createRequest.getSalary(),
+                    createRequest.getAge()
+            );
+            return BulkOperationResult.success(index, null, status);
+        } catch (RuntimeException e) {
+            logger.error("Bulk create failed for item :: " + index + " :: " + e.getMessage());
+            return BulkOperationResult.failure(index, null, e.getMessage());
+        }
+    }
+
+    private BulkOperationResult deleteEmployee(int index, String id) {
+        try {
+            return BulkOperationResult.success(index, id, employeeClient.deleteEmployeeById(id));
+        } catch (RuntimeException e) {
+            logger.error("Bulk delete failed for id :: " + id + " :: " + e.getMessage());
+            return BulkOperationResult.failure(index, id, e.getMessage());
+        }
+    }
+}
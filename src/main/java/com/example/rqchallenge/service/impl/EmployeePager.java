@@ -0,0 +1,111 @@
+package com.example.rqchallenge.service.impl;
+
+import com.example.rqchallenge.exception.RqChallengeApplicationException;
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeField;
+import com.example.rqchallenge.model.EmployeePage;
+import com.example.rqchallenge.model.EmployeePageRequest;
+import com.example.rqchallenge.store.EmployeeColumns;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Slices an already ordered employee list into a page. Cursors are opaque, URL-safe encodings of the offset
+ * of the next page, bound to the snapshot version the list was ordered from and to a fingerprint of the listing
+ * (which endpoint and filter, and the sort). A cursor presented against a newer snapshot or a different listing
+ * would skip or repeat rows, so it is rejected with a 400 and the client restarts from the first page.
+ */
+final class EmployeePager {
+
+    private static final String CURSOR_PREFIX = "c1:";
+
+    private EmployeePager() {
+    }
+
+    /**
+     * @param version snapshot version the ordered list was derived from
+     * @param scope   identifies the listing, such as the search string or query criteria; the sort is added here
+     */
+    static EmployeePage page(List<Employee> ordered, EmployeePageRequest pageRequest, int maxLimit, long version, String scope) {
+        return page(ordered.size(), (i, fields) -> EmployeeField.project(ordered.get(i), fields), pageRequest, maxLimit, version, scope);
+    }
+
+    /**
+     * Pages ordered rows of the columns, building employees only for the rows on the returned page.
+     */
+    static EmployeePage page(EmployeeColumns columns, int[] orderedRows, EmployeePageRequest pageRequest, int maxLimit,
+                             long version, String scope) {
+        return page(orderedRows.length, (i, fields) -> columns.materialize(orderedRows[i], fields), pageRequest, maxLimit, version, scope);
+    }
+
+    private static EmployeePage page(int size, BiFunction<Integer, Set<EmployeeField>, Employee> employeeAt,
+                                     EmployeePageRequest pageRequest, int maxLimit, long version, String scope) {
+        String fingerprint = fingerprint(scope, pageRequest.getSort());
+        int offset = decodeCursor(pageRequest.getCursor(), version, fingerprint);
+        int limit = limitOf(pageRequest.getLimit(), maxLimit, size);
+        Set<EmployeeField> fields = EmployeeField.parse(pageRequest.getFields());
+
+        int from = Math.min(offset, size);
+        int to = (int) Math.min((long) from + limit, size);
+        List<Employee> employees = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            employees.add(employeeAt.apply(i, fields));
+        }
+        String nextCursor = to < size ? encodeCursor(to, version, fingerprint) : null;
+        return new EmployeePage(employees, size, nextCursor);
+    }
+
+    static String encodeCursor(int offset, long version, String fingerprint) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((CURSOR_PREFIX + version + ":" + fingerprint + ":" + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static int decodeCursor(String cursor, long version, String fingerprint) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        String[] parts = null;
+        int offset = -1;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                parts = decoded.substring(CURSOR_PREFIX.length()).split(":");
+                offset = parts.length == 3 ? Integer.parseInt(parts[2]) : -1;
+            }
+        } catch (IllegalArgumentException e) {
+            // fall through to the bad request below
+        }
+        if (parts == null || offset < 0) {
+            throw new RqChallengeApplicationException("Invalid page cursor :: " + cursor, HttpStatus.BAD_REQUEST);
+        }
+        if (!parts[0].equals(Long.toString(version)) || !parts[1].equals(fingerprint)) {
+            throw new RqChallengeApplicationException(
+                    "Page cursor does not match the current employee list or sort, restart from the first page",
+                    HttpStatus.BAD_REQUEST
+            );
+        }
+        return offset;
+    }
+
+    private static String fingerprint(String scope, String sort) {
+        String normalizedSort = sort == null ? "" : sort.trim();
+        return Integer.toHexString((scope + "\u0000" + normalizedSort).hashCode());
+    }
+
+    private static int limitOf(Integer limit, int maxLimit, int size) {
+        if (limit == null) {
+            return size;
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new RqChallengeApplicationException("Page limit must be between 1 and " + maxLimit, HttpStatus.BAD_REQUEST);
+        }
+        return limit;
+    }
+}
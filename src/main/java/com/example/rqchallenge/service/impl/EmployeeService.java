@@ -1,18 +1,40 @@
 package com.example.rqchallenge.service.impl;
 
+import com.example.rqchallenge.analytics.SalaryAnalytics;
+import com.example.rqchallenge.cache.EmployeeSnapshotCache;
 import com.example.rqchallenge.client.EmployeeClient;
 import com.example.rqchallenge.model.CreateEmployeeRequest;
 import com.example.rqchallenge.exception.RqChallengeApplicationException;
+import com.example.rqchallenge.exception.UpstreamUnavailableException;
+import com.example.rqchallenge.cache.EmployeeSnapshot;
+import com.example.rqchallenge.index.EmployeeSortIndex;
+import com.example.rqchallenge.index.NameIndex;
+import com.example.rqchallenge.index.SalaryIndex;
+import com.example.rqchallenge.model.AgeBandSalary;
 import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeePage;
+import com.example.rqchallenge.model.EmployeePageRequest;
+import com.example.rqchallenge.model.EmployeeQuery;
+import com.example.rqchallenge.model.EmployeeQueryResult;
+import com.example.rqchallenge.model.EmployeeSort;
+import com.example.rqchallenge.model.SalaryHistogramBucket;
+import com.example.rqchallenge.model.SalaryStatistics;
+import com.example.rqchallenge.query.CompiledEmployeeQuery;
+import com.example.rqchallenge.query.EmployeeQueryEngine;
 import com.example.rqchallenge.service.IEmployeeService;
+import com.example.rqchallenge.store.ColumnarEmployeeStore;
+import com.example.rqchallenge.store.EmployeeColumns;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 
 @Service
@@ -21,43 +43,164 @@ public class EmployeeService implements IEmployeeService {
     @Autowired
     private EmployeeClient employeeClient;
 
+    @Autowired
+    private EmployeeSnapshotCache employeeSnapshotCache;
+
+    @Autowired
+    private SalaryIndex salaryIndex;
+
+    @Autowired
+    private NameIndex nameIndex;
+
+    @Autowired
+    private EmployeeSortIndex employeeSortIndex;
+
+    @Autowired
+    private ColumnarEmployeeStore columnarEmployeeStore;
+
+    @Autowired
+    private SalaryAnalytics salaryAnalytics;
+
+    @Autowired
+    private EmployeeQueryEngine employeeQueryEngine;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${employeePage.maxLimit:1000}")
+    private int maxPageLimit;
+
+    @Value("${employeeReplica.enabled:false}")
+    private boolean serveFromReplica;
+
+    @Value("${employeeStore.columnar:false}")
+    private boolean columnar;
+
+    @Value("${employeeAnalytics.maxHistogramBuckets:1000}")
+    private int maxHistogramBuckets;
+
+    @Value("${employeeAnalytics.maxAgeBandWidth:100}")
+    private int maxAgeBandWidth;
+
     @Override
     public List<Employee> getAllEmployees() {
-        return employeeClient.getAllEmployees();
+        return employeeSnapshotCache.getAllEmployees();
+    }
+
+    @Override
+    public OptionalLong getLastSnapshotVersion() {
+        return employeeSnapshotCache.getSnapshotForRevalidation()
+                .map(snapshot -> OptionalLong.of(snapshot.getVersion()))
+                .orElseGet(OptionalLong::empty);
+    }
+
+    @Override
+    public EmployeePage getEmployeePage(EmployeePageRequest pageRequest) {
+        EmployeeSort sort = EmployeeSort.parse(pageRequest.getSort());
+        EmployeeSnapshot snapshot = employeeSnapshotCache.getSnapshot();
+        List<Employee> ordered = sort == null ? snapshot.getEmployees() : employeeSortIndex.sorted(snapshot, sort);
+        return EmployeePager.page(ordered, pageRequest, maxPageLimit, snapshot.getVersion(), "all");
+    }
+
+    @Override
+    public void streamAllEmployees(Consumer<Employee> onEmployee) {
+        try {
+            employeeClient.streamAllEmployees(onEmployee);
+        } catch (UpstreamUnavailableException e) {
+            EmployeeSnapshot lastSnapshot = employeeSnapshotCache.getLastSnapshot().orElseThrow(() -> e);
+            lastSnapshot.getEmployees().forEach(onEmployee);
+        }
     }
 
     @Override
     public List<Employee> getEmployeesByNames(String searchString) {
-        return employeeClient.getAllEmployees()
-                .stream()
-                .filter(e -> e.getEmployeeName().contains(searchString))
-                .collect(Collectors.toList());
+        return getEmployeesByNames(searchString, false, false);
+    }
+
+    @Override
+    public List<Employee> getEmployeesByNames(String searchString, boolean ignoreCase, boolean prefix) {
+        return nameIndex.search(employeeSnapshotCache.getSnapshot(), searchString, ignoreCase, prefix);
+    }
+
+    @Override
+    public EmployeePage getEmployeePageByNames(String searchString, boolean ignoreCase, boolean prefix, EmployeePageRequest pageRequest) {
+        EmployeeSort sort = EmployeeSort.parse(pageRequest.getSort());
+        EmployeeSnapshot snapshot = employeeSnapshotCache.getSnapshot();
+        List<Employee> matches = nameIndex.search(snapshot, searchString, ignoreCase, prefix);
+        if (sort != null) {
+            matches = new ArrayList<>(matches);
+            matches.sort(sort.comparator());
+        }
+        String scope = "search:" + searchString + ":" + ignoreCase + ":" + prefix;
+        return EmployeePager.page(matches, pageRequest, maxPageLimit, snapshot.getVersion(), scope);
+    }
+
+    @Override
+    public EmployeeQueryResult queryEmployees(EmployeeQuery query, EmployeePageRequest pageRequest) {
+        long start = System.nanoTime();
+        CompiledEmployeeQuery compiled = CompiledEmployeeQuery.compile(query);
+        EmployeeSort sort = EmployeeSort.parse(pageRequest.getSort());
+        EmployeeColumns columns = columnarEmployeeStore.columnsFor(employeeSnapshotCache.getSnapshot());
+
+        CompiledEmployeeQuery.Execution execution = compiled.execute(columns, employeeQueryEngine);
+        int[] rows = sort == null ? execution.getRows() : columns.sortRows(execution.getRows(), sort);
+        String scope = "query:" + query.getSalaryMin() + ":" + query.getSalaryMax() + ":" + query.getAgeMin() + ":" + query.getAgeMax()
+                + ":" + query.getNameLike() + ":" + query.isIgnoreCase();
+        EmployeePage page = EmployeePager.page(columns, rows, pageRequest, maxPageLimit, columns.getVersion(), scope);
+
+        long elapsedNanos = System.nanoTime() - start;
+        meterRegistry.timer("employee.query.duration", "plan", execution.getPlan()).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        return new EmployeeQueryResult(page, execution.getPlan(), elapsedNanos);
     }
 
     @Override
     public Employee getEmployeeById(String id) {
+        if (serveFromReplica) {
+            return employeeSnapshotCache.findCachedEmployee(id)
+                    .orElseGet(() -> employeeClient.getSingleEmployee(id));
+        }
         return employeeClient.getSingleEmployee(id);
     }
 
     @Override
     public Integer getHighestSalary() {
-        Optional<Employee> highestSalaryEmployee = employeeClient.getAllEmployees()
-                .stream()
-                .max(Comparator.comparingInt(Employee::getEmployeeSalary));
-        if (highestSalaryEmployee.isEmpty()) {
-            return 0;
-        }
-        return highestSalaryEmployee.get().getEmployeeSalary();
+        EmployeeSnapshot snapshot = employeeSnapshotCache.getSnapshot();
+        return columnar ? columnarEmployeeStore.getHighestSalary(snapshot) : salaryIndex.getHighestSalary(snapshot);
     }
 
     @Override
     public List<String> getTopTenHighestEarningEmployeeNames() {
-        return employeeClient.getAllEmployees()
-                .stream()
-                .sorted(Comparator.comparingInt(Employee::getEmployeeSalary).reversed())
-                .limit(10)
-                .map(Employee::getEmployeeName)
-                .collect(Collectors.toList());
+        return getTopHighestEarningEmployeeNames(10);
+    }
+
+    @Override
+    public List<String> getTopHighestEarningEmployeeNames(int n) {
+        if (n < 0) {
+            throw new RqChallengeApplicationException("Number of employees requested must not be negative", HttpStatus.BAD_REQUEST);
+        }
+        EmployeeSnapshot snapshot = employeeSnapshotCache.getSnapshot();
+        return columnar ? columnarEmployeeStore.getTopEarnerNames(snapshot, n) : salaryIndex.getTopEarnerNames(snapshot, n);
+    }
+
+    @Override
+    public SalaryStatistics getSalaryStatistics() {
+        return salaryAnalytics.statistics(employeeSnapshotCache.getSnapshot());
+    }
+
+    @Override
+    public List<SalaryHistogramBucket> getSalaryHistogram(int buckets) {
+        if (buckets < 1 || buckets > maxHistogramBuckets) {
+            throw new RqChallengeApplicationException("Number of buckets must be between 1 and " + maxHistogramBuckets, HttpStatus.BAD_REQUEST);
+        }
+        return salaryAnalytics.histogram(employeeSnapshotCache.getSnapshot(), buckets);
+    }
+
+    @Override
+    public List<AgeBandSalary> getSalaryByAgeBand(int bandWidth) {
+        if (bandWidth < 1 || bandWidth > maxAgeBandWidth) {
+            throw new RqChallengeApplicationException("Age band width must be between 1 and " + maxAgeBandWidth, HttpStatus.BAD_REQUEST);
+        }
+        return salaryAnalytics.ageBands(employeeSnapshotCache.getSnapshot(), bandWidth);
     }
 
     @Override
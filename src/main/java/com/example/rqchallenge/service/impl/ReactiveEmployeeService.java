@@ -0,0 +1,85 @@
+package com.example.rqchallenge.service.impl;
+
+import com.example.rqchallenge.client.ReactiveEmployeeClient;
+import com.example.rqchallenge.exception.RqChallengeApplicationException;
+import com.example.rqchallenge.model.CreateEmployeeRequest;
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.service.IEmployeeService;
+import com.example.rqchallenge.service.IReactiveEmployeeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Reactive endpoints over the same snapshot cache and indexes as the blocking service, so reads share its circuit
+ * breakers, bulkheads, rate limiting, retries and metrics. Those reads block, so they run on the bounded elastic
+ * scheduler rather than an event loop. Writes go to the upstream through the non-blocking client, which publishes
+ * the same events as the blocking client so the snapshot, indexes and ETags follow reactive writes as well.
+ */
+@Service
+@ConditionalOnProperty(name = "dummyService.clientMode", havingValue = "reactive")
+public class ReactiveEmployeeService implements IReactiveEmployeeService {
+
+    @Autowired
+    private ReactiveEmployeeClient employeeClient;
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Override
+    public Flux<Employee> getAllEmployees() {
+        return blockingList(employeeService::getAllEmployees);
+    }
+
+    @Override
+    public Flux<Employee> getEmployeesByNames(String searchString) {
+        return blockingList(() -> employeeService.getEmployeesByNames(searchString));
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeById(String id) {
+        return Mono.fromCallable(() -> employeeService.getEmployeeById(id))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Integer> getHighestSalary() {
+        return Mono.fromCallable(employeeService::getHighestSalary)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Flux<String> getTopTenHighestEarningEmployeeNames() {
+        return blockingList(employeeService::getTopTenHighestEarningEmployeeNames);
+    }
+
+    @Override
+    public Mono<String> createEmployee(CreateEmployeeRequest createRequest) {
+        if (createRequest.isInvalid()) {
+            return Mono.error(new RqChallengeApplicationException("Create request does not have required input", HttpStatus.BAD_REQUEST));
+        }
+        return employeeClient.createEmployee(
+                createRequest.getName(),
+                createRequest.getSalary(),
+                createRequest.getAge()
+        );
+    }
+
+    @Override
+    public Mono<String> deleteEmployeeById(String id) {
+        return employeeClient.deleteEmployeeById(id);
+    }
+
+    private static <T> Flux<T> blockingList(Callable<List<T>> read) {
+        return Mono.fromCallable(read)
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(list -> list);
+    }
+}
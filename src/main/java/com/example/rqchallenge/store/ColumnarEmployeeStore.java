@@ -0,0 +1,53 @@
+package com.example.rqchallenge.store;
+
+import com.example.rqchallenge.cache.EmployeeSnapshot;
+import com.example.rqchallenge.cache.EmployeeSnapshotListener;
+import com.example.rqchallenge.query.EmployeeQueryEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Columnar copy of the current snapshot, rebuilt whenever the snapshot version changes.
+ * Answers salary aggregations from primitive columns and only builds employee names for the rows it returns;
+ * top earners are selected by the {@link EmployeeQueryEngine} so large snapshots are scanned in parallel.
+ */
+@Component
+public class ColumnarEmployeeStore implements EmployeeSnapshotListener {
+
+    @Autowired
+    private EmployeeQueryEngine employeeQueryEngine;
+
+    private volatile EmployeeColumns columns = EmployeeColumns.build(-1, List.of());
+
+    @Override
+    public void onSnapshotLoaded(EmployeeSnapshot snapshot) {
+        columns = EmployeeColumns.build(snapshot.getVersion(), snapshot.getEmployees());
+    }
+
+    public EmployeeColumns columnsFor(EmployeeSnapshot snapshot) {
+        EmployeeColumns current = columns;
+        if (current.getVersion() == snapshot.getVersion()) {
+            return current;
+        }
+        EmployeeColumns rebuilt = EmployeeColumns.build(snapshot.getVersion(), snapshot.getEmployees());
+        columns = rebuilt;
+        return rebuilt;
+    }
+
+    public Integer getHighestSalary(EmployeeSnapshot snapshot) {
+        return columnsFor(snapshot).maxSalary();
+    }
+
+    public List<String> getTopEarnerNames(EmployeeSnapshot snapshot, int n) {
+        EmployeeColumns current = columnsFor(snapshot);
+        int[] rows = employeeQueryEngine.topBySalary(current, row -> true, n);
+        List<String> names = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            names.add(current.name(row));
+        }
+        return names;
+    }
+}
@@ -0,0 +1,418 @@
+package com.example.rqchallenge.store;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeField;
+import com.example.rqchallenge.model.EmployeeSort;
+import com.example.rqchallenge.model.ProjectedEmployee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * One snapshot of employees held column by column: salaries and ages as {@code int[]} with a null bitmap,
+ * names and profile images as codes into dictionaries of distinct values, and ids as {@code int[]} when every
+ * id is a plain number. No reference to the source {@link Employee} objects is kept, so they can be collected
+ * once the snapshot that produced them is replaced. Aggregations and filters run over the primitive columns and
+ * address employees by row; {@link Employee} objects are only built again by {@link #materialize}.
+ */
+public final class EmployeeColumns {
+
+    private final long version;
+    private final int size;
+    private final int[] salaries;
+    private final BitSet missingSalaries;
+    private final int[] ages;
+    private final BitSet missingAges;
+    private final int[] nameCodes;
+    private final String[] nameDictionary;
+    private final int[] numericIds;
+    private final String[] textIds;
+    private final int[] profileImageCodes;
+    private final String[] profileImageDictionary;
+
+    private volatile long[] salaryOrder;
+
+    private EmployeeColumns(long version, int size, int[] salaries, BitSet missingSalaries, int[] ages, BitSet missingAges,
+                            int[] nameCodes, String[] nameDictionary, int[] numericIds, String[] textIds,
+                            int[] profileImageCodes, String[] profileImageDictionary) {
+        this.version = version;
+        this.size = size;
+        this.salaries = salaries;
+        this.missingSalaries = missingSalaries;
+        this.ages = ages;
+        this.missingAges = missingAges;
+        this.nameCodes = nameCodes;
+        this.nameDictionary = nameDictionary;
+        this.numericIds = numericIds;
+        this.textIds = textIds;
+        this.profileImageCodes = profileImageCodes;
+        this.profileImageDictionary = profileImageDictionary;
+    }
+
+    public static EmployeeColumns build(long version, List<Employee> employees) {
+        Employee[] source = employees.stream()
+                .filter(employee -> employee != null)
+                .toArray(Employee[]::new);
+        int size = source.length;
+        int[] salaries = new int[size];
+        BitSet missingSalaries = new BitSet(size);
+        int[] ages = new int[size];
+        BitSet missingAges = new BitSet(size);
+        int[] nameCodes = new int[size];
+        Map<String, Integer> codesByName = new HashMap<>();
+        List<String> nameDictionary = new ArrayList<>();
+        int[] profileImageCodes = new int[size];
+        Map<String, Integer> codesByProfileImage = new HashMap<>();
+        List<String> profileImageDictionary = new ArrayList<>();
+        int[] numericIds = new int[size];
+        boolean idsNumeric = true;
+
+        for (int row = 0; row < size; row++) {
+            Employee employee = source[row];
+            if (employee.getEmployeeSalary() == null) {
+                missingSalaries.set(row);
+            } else {
+                salaries[row] = employee.getEmployeeSalary();
+            }
+            if (employee.getEmployeeAge() == null) {
+                missingAges.set(row);
+            } else {
+                ages[row] = employee.getEmployeeAge();
+            }
+            nameCodes[row] = encode(employee.getEmployeeName(), codesByName, nameDictionary);
+            profileImageCodes[row] = encode(employee.getProfileImage(), codesByProfileImage, profileImageDictionary);
+            if (idsNumeric) {
+                int id = parseCanonicalId(employee.getId());
+                if (id < 0) {
+                    idsNumeric = false;
+                } else {
+                    numericIds[row] = id;
+                }
+            }
+        }
+
+        String[] textIds = null;
+        if (!idsNumeric) {
+            numericIds = null;
+            textIds = new String[size];
+            for (int row = 0; row < size; row++) {
+                textIds[row] = source[row].getId();
+            }
+        }
+        return new EmployeeColumns(version, size, salaries, missingSalaries, ages, missingAges,
+                nameCodes, nameDictionary.toArray(new String[0]), numericIds, textIds,
+                profileImageCodes, profileImageDictionary.toArray(new String[0]));
+    }
+
+    private static int encode(String value, Map<String, Integer> codes, List<String> dictionary) {
+        if (value == null) {
+            return -1;
+        }
+        return codes.computeIfAbsent(value, key -> {
+            dictionary.add(key);
+            return dictionary.size() - 1;
+        });
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean hasSalary(int row) {
+        return !missingSalaries.get(row);
+    }
+
+    public int salary(int row) {
+        return salaries[row];
+    }
+
+    public boolean hasAge(int row) {
+        return !missingAges.get(row);
+    }
+
+    public int age(int row) {
+        return ages[row];
+    }
+
+    public String name(int row) {
+        int code = nameCodes[row];
+        return code < 0 ? null : nameDictionary[code];
+    }
+
+    public String profileImage(int row) {
+        int code = profileImageCodes[row];
+        return code < 0 ? null : profileImageDictionary[code];
+    }
+
+    public String id(int row) {
+        return numericIds != null ? Integer.toString(numericIds[row]) : textIds[row];
+    }
+
+    public int distinctNames() {
+        return nameDictionary.length;
+    }
+
+    /**
+     * Dictionary code of the row's name, or -1 when the employee has no name.
+     */
+    public int nameCode(int row) {
+        return nameCodes[row];
+    }
+
+    /**
+     * Codes of the distinct names accepted by the filter, testing each distinct name once.
+     */
+    public BitSet nameCodesMatching(Predicate<String> nameFilter) {
+        BitSet codes = new BitSet(nameDictionary.length);
+        for (int code = 0; code < nameDictionary.length; code++) {
+            if (nameFilter.test(nameDictionary[code])) {
+                codes.set(code);
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Highest known salary, read from the salary order, or 0 when no employee has a salary.
+     */
+    public int maxSalary() {
+        if (size == 0) {
+            return 0;
+        }
+        int row = rowOf(salaryOrder()[size - 1]);
+        return missingSalaries.get(row) ? 0 : salaries[row];
+    }
+
+    /**
+     * Rows of the n highest salaries, highest first; ties keep snapshot order and employees without a salary come last.
+     */
+    public int[] topRowsBySalary(int n) {
+        long[] order = salaryOrder();
+        int limit = Math.min(n, size);
+        int[] rows = new int[limit];
+        for (int i = 0; i < limit; i++) {
+            rows[i] = rowOf(order[size - 1 - i]);
+        }
+        return rows;
+    }
+
+    /**
+     * Nearest-rank percentile of the known salaries, or 0 when no employee has a salary.
+     */
+    public int salaryPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100 :: " + percentile);
+        }
+        long[] order = salaryOrder();
+        int missing = missingSalaries.cardinality();
+        int known = size - missing;
+        if (known == 0) {
+            return 0;
+        }
+        int rank = Math.max(1, (int) Math.ceil(percentile / 100.0 * known));
+        return salaries[rowOf(order[missing + rank - 1])];
+    }
+
+    /**
+     * Rows with a salary in the range, in snapshot order, found by binary search over the salary order.
+     */
+    public int[] rowsWithSalaryBetween(int minInclusive, int maxInclusive) {
+        long[] order = salaryOrder();
+        int from = firstKeyAtLeast(order, (long) minInclusive << 32);
+        int to = firstKeyAtLeast(order, ((long) maxInclusive << 32) + Integer.MAX_VALUE + 1);
+        int[] rows = new int[Math.max(0, to - from)];
+        int matched = 0;
+        for (int i = from; i < to; i++) {
+            int row = rowOf(order[i]);
+            if (!missingSalaries.get(row)) {
+                rows[matched++] = row;
+            }
+        }
+        rows = Arrays.copyOf(rows, matched);
+        Arrays.sort(rows);
+        return rows;
+    }
+
+    /**
+     * Upper bound on the rows with a salary in the range, in O(log n), for choosing between the salary order and a scan.
+     */
+    public int estimateRowsWithSalaryBetween(int minInclusive, int maxInclusive) {
+        if (minInclusive > maxInclusive) {
+            return 0;
+        }
+        long[] order = salaryOrder();
+        return firstKeyAtLeast(order, ((long) maxInclusive << 32) + Integer.MAX_VALUE + 1)
+                - firstKeyAtLeast(order, (long) minInclusive << 32);
+    }
+
+    /**
+     * The rows reordered like {@link EmployeeSort#comparator()} orders their employees: missing values last in either
+     * direction and ties in the given order, which is snapshot order for query results. Salary sorts over a large
+     * share of the snapshot walk the salary order instead of comparing rows.
+     */
+    public int[] sortRows(int[] rows, EmployeeSort sort) {
+        if ("salary".equals(sort.getField()) && rows.length >= size / 16) {
+            return sortRowsBySalary(rows, sort.isDescending());
+        }
+        Integer[] boxed = new Integer[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            boxed[i] = rows[i];
+        }
+        Arrays.sort(boxed, rowComparator(sort));
+        int[] sorted = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            sorted[i] = boxed[i];
+        }
+        return sorted;
+    }
+
+    private int[] sortRowsBySalary(int[] rows, boolean descending) {
+        BitSet selected = new BitSet(size);
+        for (int row : rows) {
+            selected.set(row);
+        }
+        long[] order = salaryOrder();
+        int missing = missingSalaries.cardinality();
+        int[] sorted = new int[rows.length];
+        int next = 0;
+        if (descending) {
+            // equal salaries sort by descending key, which is ascending row
+            for (int i = size - 1; i >= missing; i--) {
+                int row = rowOf(order[i]);
+                if (selected.get(row)) {
+                    sorted[next++] = row;
+                }
+            }
+        } else {
+            // equal salaries sort by ascending key, which is descending row, so each run of ties is walked backwards
+            for (int i = missing; i < size; ) {
+                int end = i + 1;
+                while (end < size && (int) (order[end] >> 32) == (int) (order[i] >> 32)) {
+                    end++;
+                }
+                for (int j = end - 1; j >= i; j--) {
+                    int row = rowOf(order[j]);
+                    if (selected.get(row)) {
+                        sorted[next++] = row;
+                    }
+                }
+                i = end;
+            }
+        }
+        for (int row = missingSalaries.nextSetBit(0); row >= 0; row = missingSalaries.nextSetBit(row + 1)) {
+            if (selected.get(row)) {
+                sorted[next++] = row;
+            }
+        }
+        return sorted;
+    }
+
+    private Comparator<Integer> rowComparator(EmployeeSort sort) {
+        switch (sort.getField()) {
+            case "id":
+                return Comparator.comparing(this::id, nullsLast(sort.isDescending()));
+            case "name":
+                return Comparator.comparing(this::name, nullsLast(sort.isDescending()));
+            case "salary":
+                return Comparator.comparing(row -> hasSalary(row) ? salaries[row] : null, nullsLast(sort.isDescending()));
+            default:
+                return Comparator.comparing(row -> hasAge(row) ? ages[row] : null, nullsLast(sort.isDescending()));
+        }
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<T> nullsLast(boolean descending) {
+        return Comparator.nullsLast(descending ? Comparator.<T>reverseOrder() : Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * The employee at the row, rebuilt from the columns.
+     */
+    public Employee materialize(int row) {
+        return new Employee(id(row), name(row), hasSalary(row) ? salaries[row] : null, hasAge(row) ? ages[row] : null, profileImage(row));
+    }
+
+    /**
+     * The employee at the row restricted to the given fields; a full employee when every field is selected.
+     */
+    public Employee materialize(int row, Set<EmployeeField> fields) {
+        if (fields.size() == EmployeeField.values().length) {
+            return materialize(row);
+        }
+        return new ProjectedEmployee(
+                fields.contains(EmployeeField.ID) ? id(row) : null,
+                fields.contains(EmployeeField.NAME) ? name(row) : null,
+                fields.contains(EmployeeField.SALARY) && hasSalary(row) ? salaries[row] : null,
+                fields.contains(EmployeeField.AGE) && hasAge(row) ? ages[row] : null,
+                fields.contains(EmployeeField.PROFILE_IMAGE) ? profileImage(row) : null
+        );
+    }
+
+    /**
+     * The row packed with its salary into a long that sorts by salary, with employees without a salary lowest.
+     * The low word holds the inverted row, so the larger of two keys with equal salaries is the earlier row.
+     */
+    public long salaryRankKey(int row) {
+        int salary = missingSalaries.get(row) ? Integer.MIN_VALUE : salaries[row];
+        return ((long) salary << 32) | (Integer.MAX_VALUE - row);
+    }
+
+    public static int rowOf(long salaryRankKey) {
+        return Integer.MAX_VALUE - (int) salaryRankKey;
+    }
+
+    /**
+     * Salary rank keys of every row, ascending, sorted once per snapshot on first use.
+     */
+    private long[] salaryOrder() {
+        long[] order = salaryOrder;
+        if (order == null) {
+            order = new long[size];
+            for (int row = 0; row < size; row++) {
+                order[row] = salaryRankKey(row);
+            }
+            Arrays.sort(order);
+            salaryOrder = order;
+        }
+        return order;
+    }
+
+    private static int firstKeyAtLeast(long[] order, long key) {
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (order[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int parseCanonicalId(String id) {
+        if (id == null || id.isEmpty() || id.length() > 9 || (id.length() > 1 && id.charAt(0) == '0')) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < id.length(); i++) {
+            char digit = id.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+            value = value * 10 + (digit - '0');
+        }
+        return value;
+    }
+}
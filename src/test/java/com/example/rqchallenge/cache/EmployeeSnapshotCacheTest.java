@@ -0,0 +1,134 @@
+package com.example.rqchallenge.cache;
+
+import com.example.rqchallenge.client.EmployeeClient;
+import com.example.rqchallenge.event.EmployeeDeletedEvent;
+import com.example.rqchallenge.model.Employee;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertFalse;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+
+@SpringBootTest
+class EmployeeSnapshotCacheTest {
+
+    @Autowired
+    private EmployeeSnapshotCache employeeSnapshotCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private EmployeeClient employeeClient;
+
+    private final Employee employee = new Employee("1", "Alex Marson", 100000, 25, "profileImg");
+    private final Employee employee2 = new Employee("2", "Bob Smith", 20000, 30, "profileImg");
+
+    @BeforeEach
+    public void init() {
+        employeeSnapshotCache.clear();
+    }
+
+    @Test
+    void servesRepeatedReadsFromSnapshot() {
+        when(employeeClient.getAllEmployees()).thenReturn(List.of(employee, employee2));
+        double hitsBefore = meterRegistry.counter("employee.cache.requests", "result", "hit").count();
+
+        employeeSnapshotCache.getAllEmployees();
+        employeeSnapshotCache.getAllEmployees();
+        List<Employee> actual = employeeSnapshotCache.getAllEmployees();
+
+        verify(employeeClient, times(1)).getAllEmployees();
+        assertEquals("Should return cached employees", 2, actual.size());
+        assertEquals(
+                "Should count cache hits",
+                2.0,
+                meterRegistry.counter("employee.cache.requests", "result", "hit").count() - hitsBefore
+        );
+    }
+
+    @Test
+    void keepsDeletePatchedInWhileRefreshIsInFlight() throws Exception {
+        CountDownLatch fetched = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(employeeClient.getAllEmployees())
+                .thenReturn(List.of(employee, employee2))
+                .thenAnswer(invocation -> {
+                    fetched.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return List.of(employee, employee2);
+                })
+                .thenReturn(List.of(employee2));
+        employeeSnapshotCache.getSnapshot();
+
+        CompletableFuture<EmployeeSnapshot> refresh = employeeSnapshotCache.refresh();
+        fetched.await(5, TimeUnit.SECONDS);
+        eventPublisher.publishEvent(new EmployeeDeletedEvent("1"));
+        release.countDown();
+        refresh.get(5, TimeUnit.SECONDS);
+
+        assertFalse("Should not bring back the deleted employee", employeeSnapshotCache.findCachedEmployee("1").isPresent());
+        assertTrue("Should mark the patched snapshot stale",
+                employeeSnapshotCache.getLastSnapshot().get().isExpired(System.currentTimeMillis(), 30000));
+        employeeSnapshotCache.refresh().get(5, TimeUnit.SECONDS);
+        verify(employeeClient, times(3)).getAllEmployees();
+        assertEquals("Should reconcile with upstream on the next load", 1, employeeSnapshotCache.getAllEmployees().size());
+    }
+
+    @Test
+    void collapsesConcurrentMissesIntoSingleUpstreamCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(employeeClient.getAllEmployees()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(employee, employee2);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<List<Employee>>> reads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            reads.add(CompletableFuture.supplyAsync(employeeSnapshotCache::getAllEmployees, executor));
+        }
+        Thread.sleep(200);
+        release.countDown();
+        for (CompletableFuture<List<Employee>> read : reads) {
+            assertEquals("Every caller should see the loaded snapshot", 2, read.get(5, TimeUnit.SECONDS).size());
+        }
+        executor.shutdown();
+
+        verify(employeeClient, times(1)).getAllEmployees();
+    }
+
+    @Test
+    void removesDeletedEmployeeFromSnapshot() {
+        when(employeeClient.getAllEmployees()).thenReturn(List.of(employee, employee2));
+        long versionBefore = employeeSnapshotCache.getSnapshot().getVersion();
+
+        eventPublisher.publishEvent(new EmployeeDeletedEvent("1"));
+
+        EmployeeSnapshot patched = employeeSnapshotCache.getSnapshot();
+        assertFalse("Deleted employee should be removed", patched.findById("1").isPresent());
+        assertEquals("Remaining employee should be kept", 1, patched.size());
+        assertFalse("Patch should bump the snapshot version", patched.getVersion() == versionBefore);
+        verify(employeeClient, times(1)).getAllEmployees();
+    }
+}
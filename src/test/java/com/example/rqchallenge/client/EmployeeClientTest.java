@@ -1,19 +1,32 @@
 package com.example.rqchallenge.client;
 
+import com.example.rqchallenge.cache.EmployeeSnapshotCache;
+import com.example.rqchallenge.dto.DeleteEmployeeResponseDto;
 import com.example.rqchallenge.dto.GetAllEmployeesResponseDto;
 import com.example.rqchallenge.dto.GetSingleEmployeeResponseDto;
 import com.example.rqchallenge.exception.RqChallengeApplicationException;
+import com.example.rqchallenge.exception.UpstreamUnavailableException;
 import com.example.rqchallenge.model.Employee;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.client.ExpectedCount;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.util.LinkedMultiValueMap;
@@ -28,6 +41,7 @@ import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertNotNull;
 import static org.springframework.test.util.AssertionErrors.assertTrue;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
@@ -44,6 +58,18 @@ class EmployeeClientTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EmployeeSnapshotCache employeeSnapshotCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
     private MockRestServiceServer mockServer;
 
     @Value("${dummyService.host}")
@@ -52,6 +78,8 @@ class EmployeeClientTest {
     @BeforeEach
     public void init() {
         mockServer = MockRestServiceServer.createServer(restTemplate);
+        employeeSnapshotCache.clear();
+        circuitBreakerRegistry.getAllCircuitBreakers().forEach(CircuitBreaker::reset);
     }
 
     Employee employee = new Employee("1", "Alex Marson", 100000, 25, "profileImg");
@@ -94,6 +122,90 @@ class EmployeeClientTest {
 
     }
 
+    @Test
+    void revalidatesAllEmployeesWithETagAndKeepsSnapshotVersionWhenNotModified() throws URISyntaxException, JsonProcessingException {
+        HttpHeaders validators = new HttpHeaders();
+        validators.setETag("\"v1\"");
+        mockServer.expect(ExpectedCount.once(),
+                        requestTo(new URI(host + "/api/v1/employees")))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .headers(validators)
+                        .body(objectMapper.writeValueAsString(new GetAllEmployeesResponseDto("Success", List.of(employee, employee2))))
+                );
+        mockServer.expect(ExpectedCount.once(),
+                        requestTo(new URI(host + "/api/v1/employees")))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(validators));
+
+        long version = employeeSnapshotCache.getSnapshot().getVersion();
+        List<Employee> revalidated = employeeSnapshotCache.refresh().join().getEmployees();
+        mockServer.verify();
+
+        assertEquals("Should serve the previous roster on 304", 2, revalidated.size());
+        assertEquals("Should keep the snapshot version for an unchanged roster", version, employeeSnapshotCache.getSnapshot().getVersion());
+        assertNotNull("Should time the revalidation as 3xx", meterRegistry.find("employee.client.requests")
+                .tags("operation", "getAll", "status", "3xx")
+                .timer());
+        assertNotNull("Should time the first load as 2xx", meterRegistry.find("employee.client.requests")
+                .tags("operation", "getAll", "status", "2xx")
+                .timer());
+    }
+
+    @Test
+    void streamsEmployeesFromDataArrayAsTheyAreParsed() throws URISyntaxException {
+        mockServer.expect(ExpectedCount.once(),
+                        requestTo(new URI(host + "/api/v1/employees")))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"status\":\"success\",\"data\":["
+                                + "{\"id\":\"1\",\"employee_name\":\"Alex Marson\",\"employee_salary\":\"100000\",\"employee_age\":\"25\",\"profile_image\":\"\"},"
+                                + "null,"
+                                + "{\"id\":\"2\",\"employee_name\":\"Bob Smith\",\"employee_salary\":\"20000\",\"employee_age\":\"30\",\"profile_image\":\"\"}"
+                                + "],\"message\":\"ok\"}")
+                );
+
+        List<String> streamedNames = new ArrayList<>();
+        employeeClient.streamAllEmployees(e -> streamedNames.add(e.getEmployeeName()));
+        mockServer.verify();
+
+        assertEquals(
+                "Should stream every employee in order",
+                List.of("Alex Marson", "Bob Smith"),
+                streamedNames
+        );
+    }
+
+    @Test
+    void releasesStreamPermitsBeforeWritingRows() throws URISyntaxException {
+        mockServer.expect(ExpectedCount.once(),
+                        requestTo(new URI(host + "/api/v1/employees")))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"status\":\"success\",\"data\":[{\"id\":\"1\",\"employee_name\":\"Alex Marson\"}]}")
+                );
+        Bulkhead streamBulkhead = bulkheadRegistry.bulkhead("stream");
+        int getAllCalls = circuitBreakerRegistry.circuitBreaker("getAll").getMetrics().getNumberOfBufferedCalls();
+
+        List<Integer> availableWhileWriting = new ArrayList<>();
+        employeeClient.streamAllEmployees(e -> availableWhileWriting.add(streamBulkhead.getMetrics().getAvailableConcurrentCalls()));
+        mockServer.verify();
+
+        assertEquals(
+                "Should release the stream bulkhead slot once the response arrives",
+                List.of(streamBulkhead.getBulkheadConfig().getMaxConcurrentCalls()),
+                availableWhileWriting
+        );
+        assertEquals(
+                "Should not use the getAll circuit breaker",
+                getAllCalls,
+                circuitBreakerRegistry.circuitBreaker("getAll").getMetrics().getNumberOfBufferedCalls()
+        );
+    }
+
     @Test
     void returnsEmptyListWhenExternalResponseNull() throws URISyntaxException {
         mockServer.expect(ExpectedCount.once(),
@@ -265,6 +377,131 @@ class EmployeeClientTest {
         );
     }
 
+    @Test
+    void recordsUpstreamTimerAndErrorCounterTaggedByStatus() throws URISyntaxException {
+        mockServer.expect(ExpectedCount.once(),
+                        requestTo(new URI(host + "/api/v1/employee/7")))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("")
+                );
+
+        assertThrows(RqChallengeApplicationException.class, () -> employeeClient.getSingleEmployee("7"));
+        mockServer.verify();
+
+        Timer timer = meterRegistry.find("employee.client.requests")
+                .tags("operation", "getSingle", "path", "/api/v1/employee/{id}", "status", "500")
+                .timer();
+        Counter errors = meterRegistry.find("employee.client.errors")
+                .tags("outcome", "SERVER_ERROR", "status", "500")
+                .counter();
+
+        assertNotNull("Should time the upstream call", timer);
+        assertTrue("Should record the failed call", timer.count() >= 1);
+        assertNotNull("Should count the upstream error", errors);
+        assertTrue("Should count the failed call", errors.count() >= 1);
+    }
+
+    @Test
+    void retriesGetSingleAfterRetryAfterOn429() throws URISyntaxException, JsonProcessingException {
+        HttpHeaders retryAfter = new HttpHeaders();
+        retryAfter.set(HttpHeaders.RETRY_AFTER, "0");
+        mockServer.expect(ExpectedCount.once(),
+                        requestTo(new URI(host + "/api/v1/employee/1")))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS)
+                        .headers(retryAfter)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("")
+                );
+        mockServer.expect(ExpectedCount.once(),
+                        requestTo(new URI(host + "/api/v1/employee/1")))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(objectMapper.writeValueAsString(new GetSingleEmployeeResponseDto("Success", employee)))
+                );
+
+        Employee actualEmployee = employeeClient.getSingleEmployee("1");
+        mockServer.verify();
+
+        assertEquals(
+                "Should return employee from the retried call",
+                "Alex Marson",
+                actualEmployee.getEmployeeName()
+        );
+    }
+
+    @Test
+    void neverRetriesCreate() throws URISyntaxException {
+        mockServer.expect(ExpectedCount.once(),
+                        requestTo(new URI(host + "/api/v1/create")))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("")
+                );
+
+        RqChallengeApplicationException exception = assertThrows(RqChallengeApplicationException.class, () ->
+                employeeClient.createEmployee("Alex", "100000", "25"));
+        mockServer.verify();
+
+        assertEquals(
+                "Should surface the first failure",
+                HttpStatus.SERVICE_UNAVAILABLE,
+                exception.getStatus()
+        );
+    }
+
+    @Test
+    void servesCachedEmployeeWhenGetSingleCircuitIsOpen() throws URISyntaxException, JsonProcessingException {
+        List<Employee> employeeList = new ArrayList<>();
+        employeeList.add(employee);
+        mockServer.expect(ExpectedCount.once(),
+                        requestTo(new URI(host + "/api/v1/employees")))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(objectMapper.writeValueAsString(new GetAllEmployeesResponseDto("Success", employeeList)))
+                );
+        employeeSnapshotCache.getSnapshot();
+        circuitBreakerRegistry.circuitBreaker("getSingle").transitionToForcedOpenState();
+
+        Employee cachedEmployee = employeeClient.getSingleEmployee("1");
+        mockServer.verify();
+
+        assertEquals(
+                "Should fall back to the cached employee without calling the external service",
+                "Alex Marson",
+                cachedEmployee.getEmployeeName()
+        );
+    }
+
+    @Test
+    void failsFastWith503WhenCircuitIsOpenAndNothingCached() {
+        circuitBreakerRegistry.circuitBreaker("getSingle").transitionToForcedOpenState();
+
+        UpstreamUnavailableException exception = assertThrows(UpstreamUnavailableException.class, () ->
+                employeeClient.getSingleEmployee("2"));
+        mockServer.verify();
+
+        assertEquals(
+                "Should report service unavailable",
+                HttpStatus.SERVICE_UNAVAILABLE,
+                exception.getStatus()
+        );
+    }
+
+    @Test
+    void clientErrorsDoNotCountAgainstCircuitBreaker() {
+        UpstreamFailurePredicate predicate = new UpstreamFailurePredicate();
+
+        assertTrue("5xx should be recorded", predicate.test(new RqChallengeApplicationException("Error", HttpStatus.BAD_GATEWAY)));
+        assertTrue("429 should be recorded", predicate.test(new RqChallengeApplicationException("Error", HttpStatus.TOO_MANY_REQUESTS)));
+        assertTrue("4xx should not be recorded", !predicate.test(new RqChallengeApplicationException("Error", HttpStatus.NOT_FOUND)));
+    }
+
     @Test
     void ableToDeleteWhenResponseFromExternalServiceSuccessful() throws URISyntaxException, JsonProcessingException {
         // getting the employee to delete
@@ -299,6 +536,68 @@ class EmployeeClientTest {
         );
     }
 
+    @Test
+    void deletesWithoutPreDeleteGetWhenEmployeeIsCached() throws URISyntaxException, JsonProcessingException {
+        List<Employee> employeeList = new ArrayList<>();
+        employeeList.add(employee);
+        mockServer.expect(ExpectedCount.once(),
+                        requestTo(new URI(host + "/api/v1/employees")))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(objectMapper.writeValueAsString(new GetAllEmployeesResponseDto("Success", employeeList)))
+                );
+        employeeSnapshotCache.getSnapshot();
+
+        // only the deletion should reach the external service
+        mockServer.expect(ExpectedCount.once(),
+                        requestTo(new URI(host + "/api/v1/delete/1")))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("")
+                );
+
+        String actualName = employeeClient.deleteEmployeeById("1");
+        mockServer.verify();
+
+        assertEquals(
+                "Delete employee should match cached name",
+                "Alex Marson",
+                actualName
+        );
+    }
+
+    @Test
+    void fastDeleteIssuesSingleDeleteAndParsesResponse() throws URISyntaxException, JsonProcessingException {
+        DeleteEmployeeResponseDto response = new DeleteEmployeeResponseDto(
+                "success",
+                "1",
+                "successfully! deleted Record"
+        );
+        mockServer.expect(ExpectedCount.once(),
+                        requestTo(new URI(host + "/api/v1/delete/1")))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(objectMapper.writeValueAsString(response))
+                );
+
+        ReflectionTestUtils.setField(employeeClient, "fastDelete", true);
+        try {
+            String actualResult = employeeClient.deleteEmployeeById("1");
+            mockServer.verify();
+
+            assertEquals(
+                    "Fast delete should return the deleted id when name is not cached",
+                    "1",
+                    actualResult
+            );
+        } finally {
+            ReflectionTestUtils.setField(employeeClient, "fastDelete", false);
+        }
+    }
+
     @Test
     void doesntDeleteWhenNoEmployeeWithIdExists() throws URISyntaxException {
         // getting the empty employee response
@@ -530,4 +829,18 @@ class EmployeeClientTest {
                 exception.getStatus()
         );
     }
+
+    @Test
+    void reportsUpstreamConnectionPoolMetrics() {
+        Gauge maxConnections = meterRegistry.find("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "employee-client")
+                .gauge();
+
+        assertNotNull("Pool size should be reported", maxConnections);
+        assertEquals("Pool size should match configuration", 200.0, maxConnections.value());
+        assertNotNull(
+                "Leased connections should be reported",
+                meterRegistry.find("httpcomponents.httpclient.pool.total.connections").tag("state", "leased").gauge()
+        );
+    }
 }
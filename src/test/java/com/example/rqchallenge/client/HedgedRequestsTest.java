@@ -0,0 +1,100 @@
+package com.example.rqchallenge.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.client.methods.HttpGet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertFalse;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+
+class HedgedRequestsTest {
+
+    private final HedgedRequests hedgedRequests = new HedgedRequests(true, 1, 2, new RetryBudget(1, 100), new SimpleMeterRegistry());
+
+    @AfterEach
+    void shutdown() {
+        hedgedRequests.shutdown();
+    }
+
+    @Test
+    void runsPrimaryOnCallerThreadAndAbortsItWhenHedgeWins() {
+        warmUp();
+        Thread caller = Thread.currentThread();
+        AtomicReference<Thread> primaryThread = new AtomicReference<>();
+        HttpGet primaryRequest = new HttpGet("http://localhost/employees");
+
+        String result = hedgedRequests.execute("getAll", () -> {
+            if (Thread.currentThread() != caller) {
+                return "hedge";
+            }
+            primaryThread.set(Thread.currentThread());
+            InFlightRequests.attach(primaryRequest);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!primaryRequest.isAborted() && System.currentTimeMillis() < deadline) {
+                Thread.onSpinWait();
+            }
+            throw new ResourceAccessException("Request aborted");
+        });
+
+        assertEquals("Should return the hedge's result", "hedge", result);
+        assertEquals("Should run the primary on the caller thread", caller, primaryThread.get());
+        assertTrue("Should abort the losing primary request", primaryRequest.isAborted());
+    }
+
+    @Test
+    void abortsHedgeWhenPrimaryWins() throws Exception {
+        warmUp();
+        Thread caller = Thread.currentThread();
+        HttpGet hedgeRequest = new HttpGet("http://localhost/employees");
+        AtomicBoolean hedgeStarted = new AtomicBoolean();
+
+        String result = hedgedRequests.execute("getAll", () -> {
+            if (Thread.currentThread() != caller) {
+                InFlightRequests.attach(hedgeRequest);
+                hedgeStarted.set(true);
+                long deadline = System.currentTimeMillis() + 5000;
+                while (!hedgeRequest.isAborted() && System.currentTimeMillis() < deadline) {
+                    Thread.onSpinWait();
+                }
+                throw new ResourceAccessException("Request aborted");
+            }
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!hedgeStarted.get() && System.currentTimeMillis() < deadline) {
+                Thread.onSpinWait();
+            }
+            return "primary";
+        });
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!hedgeRequest.isAborted() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertEquals("Should return the primary's result", "primary", result);
+        assertTrue("Should abort the losing hedge request", hedgeRequest.isAborted());
+    }
+
+    @Test
+    void doesNotHedgeBeforeLatenciesAreKnown() {
+        Thread caller = Thread.currentThread();
+        AtomicBoolean hedged = new AtomicBoolean();
+
+        hedgedRequests.execute("getSingle", () -> {
+            hedged.compareAndSet(false, Thread.currentThread() != caller);
+            return "primary";
+        });
+
+        assertFalse("Should not hedge without latency samples", hedged.get());
+    }
+
+    private void warmUp() {
+        for (int i = 0; i < 20; i++) {
+            hedgedRequests.execute("getAll", () -> "warm");
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.rqchallenge.client;
+
+import com.example.rqchallenge.event.EmployeeCreatedEvent;
+import com.example.rqchallenge.event.EmployeeDeletedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ReactiveEmployeeClientTest {
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private ReactiveEmployeeClient employeeClient;
+
+    @BeforeEach
+    public void init() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(respond(request.method())))
+                .build();
+        employeeClient = new ReactiveEmployeeClient();
+        ReflectionTestUtils.setField(employeeClient, "employeeWebClient", webClient);
+        ReflectionTestUtils.setField(employeeClient, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(employeeClient, "getSinglePath", "/api/v1/employee/");
+        ReflectionTestUtils.setField(employeeClient, "createPath", "/api/v1/create");
+        ReflectionTestUtils.setField(employeeClient, "deletePath", "/api/v1/delete/");
+    }
+
+    @Test
+    void publishesCreatedEventAfterCreate() {
+        StepVerifier.create(employeeClient.createEmployee("Alex Marson", "100000", "25"))
+                .expectNext("success")
+                .verifyComplete();
+
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof EmployeeCreatedEvent
+                && "Alex Marson".equals(((EmployeeCreatedEvent) event).getEmployee().getEmployeeName())));
+    }
+
+    @Test
+    void publishesDeletedEventAfterDelete() {
+        StepVerifier.create(employeeClient.deleteEmployeeById("1"))
+                .expectNext("Alex Marson")
+                .verifyComplete();
+
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof EmployeeDeletedEvent
+                && "1".equals(((EmployeeDeletedEvent) event).getEmployeeId())));
+    }
+
+    private static ClientResponse respond(HttpMethod method) {
+        String employee = "{\"id\":\"1\",\"employee_name\":\"Alex Marson\",\"employee_salary\":\"100000\",\"employee_age\":\"25\",\"profile_image\":\"\"}";
+        String body = method == HttpMethod.DELETE ? "{\"status\":\"success\",\"message\":\"deleted\"}"
+                : "{\"status\":\"success\",\"data\":" + employee + "}";
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
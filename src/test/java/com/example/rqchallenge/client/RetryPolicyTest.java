@@ -0,0 +1,95 @@
+package com.example.rqchallenge.client;
+
+import com.example.rqchallenge.exception.RqChallengeApplicationException;
+import com.example.rqchallenge.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+
+class RetryPolicyTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RetryPolicy policy(int maxAttempts, RetryBudget budget) {
+        return new RetryPolicy(maxAttempts, 1, 10, Set.of(429, 502, 503, 504), budget, meterRegistry);
+    }
+
+    @Test
+    void retriesTransientFailuresUntilSuccess() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = policy(3, new RetryBudget(0.1, 10)).execute("getAll", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ResourceAccessException("Read timed out");
+            }
+            return "ok";
+        });
+
+        assertEquals("Should return the successful attempt", "ok", result);
+        assertEquals("Should have made three attempts", 3, calls.get());
+    }
+
+    @Test
+    void doesNotRetryClientErrorsOrOpenCircuits() {
+        AtomicInteger calls = new AtomicInteger();
+        RetryPolicy policy = policy(3, new RetryBudget(0.1, 10));
+
+        assertThrows(RqChallengeApplicationException.class, () -> policy.execute("getSingle", () -> {
+            calls.incrementAndGet();
+            throw new RqChallengeApplicationException("Not Found", HttpStatus.NOT_FOUND);
+        }));
+        assertThrows(UpstreamUnavailableException.class, () -> policy.execute("getSingle", () -> {
+            calls.incrementAndGet();
+            throw new UpstreamUnavailableException("open");
+        }));
+
+        assertEquals("Each call should have been attempted once", 2, calls.get());
+    }
+
+    @Test
+    void stopsRetryingWhenBudgetIsExhausted() {
+        AtomicInteger calls = new AtomicInteger();
+        RetryPolicy policy = policy(5, new RetryBudget(0, 1));
+
+        assertThrows(RqChallengeApplicationException.class, () -> policy.execute("getAll", () -> {
+            calls.incrementAndGet();
+            throw new RqChallengeApplicationException("Service Unavailable", HttpStatus.SERVICE_UNAVAILABLE);
+        }));
+
+        assertEquals("Budget should only allow one retry", 2, calls.get());
+    }
+
+    @Test
+    void givesUpWhenRetryAfterExceedsMaximumBackoff() {
+        AtomicInteger calls = new AtomicInteger();
+        RetryPolicy policy = policy(3, new RetryBudget(0.1, 10));
+
+        assertThrows(RqChallengeApplicationException.class, () -> policy.execute("getAll", () -> {
+            calls.incrementAndGet();
+            throw new RqChallengeApplicationException("Too Many Requests", HttpStatus.TOO_MANY_REQUESTS, Duration.ofSeconds(30));
+        }));
+
+        assertEquals("Should not wait out a long Retry-After", 1, calls.get());
+    }
+
+    @Test
+    void backoffIsCappedAndHonoursShortRetryAfter() {
+        RetryPolicy policy = policy(10, new RetryBudget(0.1, 10));
+
+        for (int attempt = 1; attempt <= 8; attempt++) {
+            long delay = policy.delayMillis(attempt, new ResourceAccessException("timeout"));
+            assertTrue("Delay should stay within the maximum backoff", delay >= 0 && delay <= 10);
+        }
+        long delay = policy.delayMillis(1, new RqChallengeApplicationException("Too Many Requests", HttpStatus.TOO_MANY_REQUESTS, Duration.ofMillis(8)));
+        assertTrue("Delay should be at least the Retry-After", delay >= 8);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.rqchallenge.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallersWithSameKeyShareOneCall() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", new SimpleMeterRegistry());
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<String>> callers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            callers.add(CompletableFuture.supplyAsync(() -> singleFlight.execute("employees", () -> {
+                upstreamCalls.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "result";
+            }), executor));
+        }
+        Thread.sleep(200);
+        release.countDown();
+        for (CompletableFuture<String> caller : callers) {
+            assertEquals("Every caller should get the shared result", "result", caller.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals("Only one upstream call should be made", 1, upstreamCalls.get());
+        assertTrue("Coalescing ratio should reflect shared calls", singleFlight.coalescingRatio() > 0.8);
+    }
+
+    @Test
+    void sequentialCallsAreNotShared() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", new SimpleMeterRegistry());
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        singleFlight.execute("employees", () -> "first " + upstreamCalls.incrementAndGet());
+        String second = singleFlight.execute("employees", () -> "second " + upstreamCalls.incrementAndGet());
+
+        assertEquals("Second call should not reuse finished result", "second 2", second);
+    }
+
+    @Test
+    void failureIsRethrownToCaller() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", new SimpleMeterRegistry());
+
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("employees", () -> {
+            throw new IllegalStateException("upstream failed");
+        }));
+    }
+}
@@ -1,10 +1,23 @@
 package com.example.rqchallenge.controller;
 
+import com.example.rqchallenge.model.BulkOperationResult;
 import com.example.rqchallenge.model.CreateEmployeeRequest;
+import com.example.rqchallenge.model.CreateEmployeeStatus;
 import com.example.rqchallenge.exception.RqChallengeApplicationException;
+import com.example.rqchallenge.exception.UpstreamUnavailableException;
 import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeePage;
+import com.example.rqchallenge.model.EmployeeQueryResult;
+import com.example.rqchallenge.model.ProjectedEmployee;
+import com.example.rqchallenge.model.SalaryHistogramBucket;
+import com.example.rqchallenge.model.SalaryStatistics;
+import com.example.rqchallenge.service.IAsyncEmployeeService;
+import com.example.rqchallenge.service.IBulkEmployeeService;
 import com.example.rqchallenge.service.IEmployeeService;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,16 +27,32 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(IEmployeeController.class)
@@ -41,6 +70,12 @@ class EmployeeControllerTest {
     @MockBean
     private IEmployeeService employeeService;
 
+    @MockBean
+    private IBulkEmployeeService bulkEmployeeService;
+
+    @MockBean
+    private IAsyncEmployeeService asyncEmployeeService;
+
     @BeforeEach
     public void setup() {
         this.mockMvc = MockMvcBuilders.webAppContextSetup(this.webApplicationContext).build();
@@ -61,6 +96,135 @@ class EmployeeControllerTest {
                 .andExpect(content().string(Matchers.containsString("Test Name")));
     }
 
+    @Test
+    void keepsNullFieldsOfFullEmployees() throws Exception {
+        employeeMock.setId("1");
+        when(employeeService.getAllEmployees()).thenReturn(List.of(employeeMock));
+
+        mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(Matchers.containsString("\"employee_salary\":null")));
+    }
+
+    @Test
+    void omitsUnselectedFieldsOfProjectedEmployees() throws Exception {
+        when(employeeService.getEmployeePage(any()))
+                .thenReturn(new EmployeePage(List.of(new ProjectedEmployee("1", "Alex", null, null, null)), 1, null));
+
+        mockMvc.perform(get("/").param("fields", "id,employee_name"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(Matchers.containsString("\"employee_name\":\"Alex\"")))
+                .andExpect(content().string(Matchers.not(Matchers.containsString("employee_salary"))));
+    }
+
+    @Test
+    void returns304WhenSnapshotVersionIsUnchanged() throws Exception {
+        when(employeeService.getLastSnapshotVersion()).thenReturn(OptionalLong.of(7));
+        when(employeeService.getAllEmployees()).thenReturn(List.of(employeeMock));
+
+        MvcResult first = mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", Matchers.containsString("no-cache")))
+                .andReturn();
+        String eTag = first.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(employeeService, times(1)).getAllEmployees();
+
+        when(employeeService.getLastSnapshotVersion()).thenReturn(OptionalLong.of(8));
+        mockMvc.perform(get("/").header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void omitsETagBeforeFirstSnapshotLoad() throws Exception {
+        when(employeeService.getLastSnapshotVersion()).thenReturn(OptionalLong.empty());
+        when(employeeService.getAllEmployees()).thenReturn(List.of(employeeMock));
+
+        mockMvc.perform(get("/").header("If-None-Match", "\"anything\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    @Test
+    void returns304WhenEmployeeContentIsUnchanged() throws Exception {
+        employeeMock.setId("1");
+        employeeMock.setEmployeeName("Test Name");
+        when(employeeService.getEmployeeById("1")).thenReturn(employeeMock);
+
+        String eTag = mockMvc.perform(get("/1"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/1").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void returnsDifferentETagsPerNegotiatedRepresentation() throws Exception {
+        when(employeeService.getLastSnapshotVersion()).thenReturn(OptionalLong.of(7));
+        when(employeeService.getAllEmployees()).thenReturn(List.of(employeeMock));
+
+        String jsonETag = mockMvc.perform(get("/").accept(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("Vary", Matchers.containsString("Accept-Encoding")))
+                .andReturn().getResponse().getHeader("ETag");
+        String cborETag = mockMvc.perform(get("/").accept(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeader("ETag");
+        String gzipETag = mockMvc.perform(get("/").accept(MediaType.APPLICATION_JSON).header("Accept-Encoding", "gzip"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertNotEquals(jsonETag, cborETag);
+        assertNotEquals(jsonETag, gzipETag);
+        mockMvc.perform(get("/").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", jsonETag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void returnsCborWhenAccepted() throws Exception {
+        employeeMock.setId("1");
+        employeeMock.setEmployeeName("Test Name");
+        employeeMock.setEmployeeSalary(100);
+        when(employeeService.getAllEmployees()).thenReturn(List.of(employeeMock));
+
+        byte[] body = mockMvc.perform(get("/").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Employee[] decoded = new ObjectMapper(new CBORFactory()).readValue(body, Employee[].class);
+        assertEquals(1, decoded.length);
+        assertEquals("Test Name", decoded[0].getEmployeeName());
+        assertEquals(100, decoded[0].getEmployeeSalary());
+    }
+
+    @Test
+    void returnsSmileWhenAccepted() throws Exception {
+        employeeMock.setId("1");
+        employeeMock.setEmployeeName("Test Name");
+        when(employeeService.getEmployeeById("1")).thenReturn(employeeMock);
+
+        byte[] body = mockMvc.perform(get("/1").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Employee decoded = new ObjectMapper(new SmileFactory()).readValue(body, Employee.class);
+        assertEquals("Test Name", decoded.getEmployeeName());
+    }
+
+    @Test
+    void returnsJsonWhenAnyTypeIsAccepted() throws Exception {
+        when(employeeService.getAllEmployees()).thenReturn(List.of(employeeMock));
+
+        mockMvc.perform(get("/").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
     @Test
     void returns4xxWhenGetsAllEmployeesHasClientError() throws Exception {
         when(employeeService.getAllEmployees()).thenThrow(new RqChallengeApplicationException("Error", HttpStatus.BAD_REQUEST));
@@ -69,6 +233,77 @@ class EmployeeControllerTest {
                 .andExpect(status().is4xxClientError());
     }
 
+    @Test
+    void returnsPageWithCursorHeadersWhenGetsAllEmployeesWithLimit() throws Exception {
+        List<Employee> employeesMockList = new ArrayList<>();
+        employeeMock.setEmployeeName("Test Name");
+        employeesMockList.add(employeeMock);
+
+        when(employeeService.getEmployeePage(argThat(pageRequest ->
+                Integer.valueOf(1).equals(pageRequest.getLimit()) && "-salary".equals(pageRequest.getSort()))))
+                .thenReturn(new EmployeePage(employeesMockList, 3, "next"));
+
+        mockMvc.perform(get("/").param("limit", "1").param("sort", "-salary"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "3"))
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(content().string(Matchers.containsString("Test Name")));
+    }
+
+    @Test
+    void omitsNextCursorWhenSearchPageIsLast() throws Exception {
+        List<Employee> employeesMockList = new ArrayList<>();
+        employeeMock.setEmployeeName("Alex");
+        employeesMockList.add(employeeMock);
+
+        when(employeeService.getEmployeePageByNames(eq("Alex"), eq(false), eq(false), any()))
+                .thenReturn(new EmployeePage(employeesMockList, 1, null));
+
+        mockMvc.perform(get("/search/Alex").param("fields", "employee_name"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(content().string(Matchers.containsString("Alex")));
+    }
+
+    @Test
+    void streamsEmployeesAsNdjsonWhenRequested() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Employee> onEmployee = invocation.getArgument(0);
+            onEmployee.accept(new Employee("1", "Alex", 1000, 25, ""));
+            onEmployee.accept(new Employee("2", "Bob", 2000, 30, ""));
+            return null;
+        }).when(employeeService).streamAllEmployees(any());
+
+        MvcResult mvcResult = mockMvc.perform(get("/stream").param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk());
+
+        String[] lines = mvcResult.getResponse().getContentAsString().trim().split("\n");
+        assertTrue(lines.length == 2, "Should write one line per employee");
+        assertTrue(lines[0].contains("Alex") && lines[1].contains("Bob"), "Should keep upstream order");
+    }
+
+    @Test
+    void leavesStreamUnterminatedWhenUpstreamFailsMidStream() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Employee> onEmployee = invocation.getArgument(0);
+            onEmployee.accept(new Employee("1", "Alex", 1000, 25, ""));
+            throw new UpstreamUnavailableException("Employee service is unavailable, circuit open for :: stream");
+        }).when(employeeService).streamAllEmployees(any());
+
+        MvcResult mvcResult = mockMvc.perform(get("/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult));
+
+        String body = mvcResult.getResponse().getContentAsString();
+        assertThrows(JsonProcessingException.class, () -> objectMapper.readValue(body, Employee[].class),
+                "Should not end a failed stream as a complete array");
+    }
+
     @Test
     void returns200WhenGetSingleEmployeeIsSuccessful() throws Exception {
         employeeMock.setEmployeeAge(22);
@@ -100,6 +335,19 @@ class EmployeeControllerTest {
                 .andExpect(content().string(Matchers.containsString("Alex")));
     }
 
+    @Test
+    void returns200WhenCaseInsensitivePrefixSearchIsSuccessful() throws Exception {
+        List<Employee> employeesMockList = new ArrayList<>();
+        employeeMock.setEmployeeName("Alex");
+        employeesMockList.add(employeeMock);
+
+        when(employeeService.getEmployeesByNames("al", true, true)).thenReturn(employeesMockList);
+
+        mockMvc.perform(get("/search/al").param("ignoreCase", "true").param("prefix", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(Matchers.containsString("Alex")));
+    }
+
     @Test
     void returns4xxWhenGetEmployeeBySearchStringHasClientError() throws Exception {
         when(employeeService.getEmployeesByNames("Alex")).thenThrow(new RqChallengeApplicationException("Error", HttpStatus.BAD_REQUEST));
@@ -139,6 +387,18 @@ class EmployeeControllerTest {
                 .andExpect(content().string(Matchers.containsString("Andres")));
     }
 
+    @Test
+    void returns200WhenGetTopEarnersWithCountIsSuccessful() throws Exception {
+        List<String> highestSalaryMockList = new ArrayList<>();
+        highestSalaryMockList.add("Alex");
+
+        when (employeeService.getTopHighestEarningEmployeeNames(50)).thenReturn(highestSalaryMockList);
+
+        mockMvc.perform(get("/topHighestEarningEmployeeNames").param("n", "50"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(Matchers.containsString("Alex")));
+    }
+
     @Test
     void returns4xxWhenGetTopEarnersReturnsClientError() throws Exception {
         when (employeeService.getTopTenHighestEarningEmployeeNames()).thenThrow(new RqChallengeApplicationException("Error", HttpStatus.BAD_REQUEST));
@@ -147,6 +407,50 @@ class EmployeeControllerTest {
                 .andExpect(status().is4xxClientError());
     }
 
+    @Test
+    void returnsPlanAndTimingHeadersWhenQueryIsSuccessful() throws Exception {
+        employeeMock.setEmployeeName("Test Name");
+        EmployeeQueryResult result = new EmployeeQueryResult(new EmployeePage(List.of(employeeMock), 3, "next"), "salary-index", 1_500_000);
+        when(employeeService.queryEmployees(
+                argThat(query -> query.getSalaryMin() == 1000 && "Test".equals(query.getNameLike())),
+                argThat(pageRequest -> pageRequest.getLimit() == 1)
+        )).thenReturn(result);
+
+        mockMvc.perform(get("/query").param("salaryMin", "1000").param("nameLike", "Test").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "3"))
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(header().string("X-Query-Plan", "salary-index"))
+                .andExpect(header().string("Server-Timing", "query;desc=\"salary-index\";dur=1.500"))
+                .andExpect(content().string(Matchers.containsString("Test Name")));
+    }
+
+    @Test
+    void returns200WhenGetSalaryStatisticsIsSuccessful() throws Exception {
+        when(employeeService.getSalaryStatistics()).thenReturn(new SalaryStatistics(2, 1000, 3000, 2000, 1000, 1000, 3000, 3000));
+
+        mockMvc.perform(get("/salaryStatistics"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(Matchers.containsString("\"p90\":3000")));
+    }
+
+    @Test
+    void returns200WhenGetSalaryHistogramIsSuccessful() throws Exception {
+        when(employeeService.getSalaryHistogram(5)).thenReturn(List.of(new SalaryHistogramBucket(1000, 1999, 4)));
+
+        mockMvc.perform(get("/salaryHistogram").param("buckets", "5"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(Matchers.containsString("\"lowerBound\":1000")));
+    }
+
+    @Test
+    void returns4xxWhenGetSalaryByAgeBandReturnsClientError() throws Exception {
+        when(employeeService.getSalaryByAgeBand(0)).thenThrow(new RqChallengeApplicationException("Error", HttpStatus.BAD_REQUEST));
+
+        mockMvc.perform(get("/salaryByAgeBand").param("bandWidth", "0"))
+                .andExpect(status().is4xxClientError());
+    }
+
     @Test
     void returns200WhenCreateEmployeeIsSuccessful() throws Exception {
         CreateEmployeeRequest request = new CreateEmployeeRequest("Alex", "100000", "25");
@@ -160,6 +464,42 @@ class EmployeeControllerTest {
                 .andExpect(content().string(Matchers.containsString("Alex")));
     }
 
+    @Test
+    void returns202WithTrackingIdWhenCreateRespondsAsync() throws Exception {
+        CreateEmployeeRequest request = new CreateEmployeeRequest("Alex", "100000", "25");
+        when(asyncEmployeeService.submitCreate(any())).thenReturn(CreateEmployeeStatus.queued("abc", Instant.now()));
+
+        mockMvc.perform(post("/")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", Matchers.endsWith("/creates/abc")))
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(content().string("abc"));
+        verify(employeeService, times(0)).createEmployee(any());
+    }
+
+    @Test
+    void returnsCreateStatusByTrackingId() throws Exception {
+        when(asyncEmployeeService.getCreateStatus("abc"))
+                .thenReturn(CreateEmployeeStatus.queued("abc", Instant.now()).inProgress(1).succeeded("success", Instant.now()));
+
+        mockMvc.perform(get("/creates/abc"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(Matchers.containsString("SUCCEEDED")))
+                .andExpect(content().string(Matchers.containsString("\"attempts\":1")));
+    }
+
+    @Test
+    void returns404WhenCreateStatusIsUnknown() throws Exception {
+        when(asyncEmployeeService.getCreateStatus("missing"))
+                .thenThrow(new RqChallengeApplicationException("No create is tracked with id :: missing", HttpStatus.NOT_FOUND));
+
+        mockMvc.perform(get("/creates/missing"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void returns4xxWhenCreateEmployeeReturnsClientError() throws Exception {
         CreateEmployeeRequest request = new CreateEmployeeRequest("Alex", "100000", "25");
@@ -188,4 +528,40 @@ class EmployeeControllerTest {
         mockMvc.perform(delete("/1"))
                 .andExpect(status().is4xxClientError());
     }
+
+    @Test
+    void streamsPerItemResultsWhenBulkCreateIsSuccessful() throws Exception {
+        List<CreateEmployeeRequest> requests = new ArrayList<>();
+        requests.add(new CreateEmployeeRequest("Alex", "100000", "25"));
+        requests.add(new CreateEmployeeRequest("", "100000", "25"));
+
+        when(bulkEmployeeService.createEmployees(any(), any())).thenAnswer(invocation -> {
+            Consumer<BulkOperationResult> onResult = invocation.getArgument(1);
+            onResult.accept(BulkOperationResult.success(0, null, "success"));
+            onResult.accept(BulkOperationResult.failure(1, null, "Create request does not have required input"));
+            return CompletableFuture.completedFuture(null);
+        });
+
+        MvcResult mvcResult = mockMvc.perform(post("/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk());
+
+        String body = mvcResult.getResponse().getContentAsString();
+        assertTrue(body.contains("SUCCESS"), "Should stream successful item");
+        assertTrue(body.contains("FAILED"), "Should stream failed item");
+    }
+
+    @Test
+    void returns4xxWhenBulkDeleteIsRejected() throws Exception {
+        when(bulkEmployeeService.deleteEmployeesByIds(any(), any())).thenThrow(new RqChallengeApplicationException("Error", HttpStatus.BAD_REQUEST));
+
+        mockMvc.perform(delete("/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"1\",\"2\"]"))
+                .andExpect(status().is4xxClientError());
+    }
 }
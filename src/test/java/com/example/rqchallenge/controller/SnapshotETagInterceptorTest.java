@@ -0,0 +1,81 @@
+package com.example.rqchallenge.controller;
+
+import com.example.rqchallenge.cache.EmployeeSnapshotCache;
+import com.example.rqchallenge.client.EmployeeClient;
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.service.IEmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertFalse;
+import static org.springframework.test.util.AssertionErrors.assertNotNull;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+
+@SpringBootTest
+class SnapshotETagInterceptorTest {
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Autowired
+    private EmployeeSnapshotCache employeeSnapshotCache;
+
+    @MockBean
+    private EmployeeClient employeeClient;
+
+    private final Employee employee = new Employee("1", "Alex Marson", 100000, 25, "profileImg");
+    private final Employee employee2 = new Employee("2", "Bob Smith", 20000, 30, "profileImg");
+
+    @BeforeEach
+    public void init() {
+        employeeSnapshotCache.clear();
+    }
+
+    @Test
+    void refreshesExpiredSnapshotWhileAnsweringMatchingTag() throws Exception {
+        when(employeeClient.getAllEmployees())
+                .thenReturn(List.of(employee))
+                .thenReturn(List.of(employee, employee2));
+        employeeSnapshotCache.getSnapshot();
+        SnapshotETagInterceptor interceptor = new SnapshotETagInterceptor(employeeService, CacheControl.noCache());
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertTrue("Should let the first request through", interceptor.preHandle(get(null), first, null));
+        String eTag = first.getHeader(HttpHeaders.ETAG);
+        assertNotNull("Should tag the response", eTag);
+
+        employeeSnapshotCache.markStale();
+        MockHttpServletResponse revalidated = new MockHttpServletResponse();
+        assertFalse("Should answer a matching tag with 304", interceptor.preHandle(get(eTag), revalidated, null));
+        assertEquals("Should send 304", 304, revalidated.getStatus());
+
+        verify(employeeClient, timeout(5000).times(2)).getAllEmployees();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (employeeSnapshotCache.getLastSnapshot().get().size() != 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue("Should not answer the old tag once the refreshed roster is loaded",
+                interceptor.preHandle(get(eTag), new MockHttpServletResponse(), null));
+    }
+
+    private static MockHttpServletRequest get(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return request;
+    }
+}
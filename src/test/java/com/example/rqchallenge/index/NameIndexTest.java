@@ -0,0 +1,39 @@
+package com.example.rqchallenge.index;
+
+import com.example.rqchallenge.cache.EmployeeSnapshot;
+import com.example.rqchallenge.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+
+class NameIndexTest {
+
+    private final Employee rob = new Employee("1", "Rob Smith", 30000, 25, "");
+    private final Employee robert = new Employee("2", "Robert White", 50000, 32, "");
+    private final Employee sarah = new Employee("3", "Sarah Smith", 60000, 23, "");
+
+    @Test
+    void findsSubstringMatchesThroughTrigrams() {
+        NameIndex nameIndex = new NameIndex();
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, List.of(rob, robert, sarah), 0);
+        nameIndex.onSnapshotLoaded(snapshot);
+
+        assertEquals("Should match both Smiths", List.of(rob, sarah), nameIndex.search(snapshot, "Smith", false, false));
+        assertEquals("Should match short strings", List.of(rob, robert), nameIndex.search(snapshot, "Ro", false, false));
+        assertTrue("Should not match unknown names", nameIndex.search(snapshot, "Elmo", false, false).isEmpty());
+    }
+
+    @Test
+    void stopsReturningRemovedEmployee() {
+        NameIndex nameIndex = new NameIndex();
+        nameIndex.onSnapshotLoaded(new EmployeeSnapshot(1, List.of(rob, robert, sarah), 0));
+
+        EmployeeSnapshot patched = new EmployeeSnapshot(2, List.of(robert, sarah), 0);
+        nameIndex.onEmployeeRemoved(patched, rob);
+
+        assertEquals("Should not return removed employee", List.of(robert), nameIndex.search(patched, "Rob", false, false));
+    }
+}
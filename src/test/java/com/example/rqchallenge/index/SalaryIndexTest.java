@@ -0,0 +1,57 @@
+package com.example.rqchallenge.index;
+
+import com.example.rqchallenge.cache.EmployeeSnapshot;
+import com.example.rqchallenge.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+
+class SalaryIndexTest {
+
+    private final Employee low = new Employee("1", "Low Earner", 1000, 25, "");
+    private final Employee mid = new Employee("2", "Mid Earner", 5000, 30, "");
+    private final Employee high = new Employee("3", "High Earner", 9000, 40, "");
+
+    @Test
+    void answersHighestSalaryAndTopEarnersFromLoadedSnapshot() {
+        SalaryIndex salaryIndex = new SalaryIndex();
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, List.of(low, high, mid), 0);
+        salaryIndex.onSnapshotLoaded(snapshot);
+
+        assertEquals("Should return highest salary", 9000, salaryIndex.getHighestSalary(snapshot));
+        assertEquals(
+                "Should return top earners in salary order",
+                List.of("High Earner", "Mid Earner"),
+                salaryIndex.getTopEarnerNames(snapshot, 2)
+        );
+    }
+
+    @Test
+    void dropsRemovedEmployeeWithoutRebuilding() {
+        SalaryIndex salaryIndex = new SalaryIndex();
+        salaryIndex.onSnapshotLoaded(new EmployeeSnapshot(1, List.of(low, high, mid), 0));
+
+        EmployeeSnapshot patched = new EmployeeSnapshot(2, List.of(low, mid), 0);
+        salaryIndex.onEmployeeRemoved(patched, high);
+
+        assertEquals("Should return next highest salary", 5000, salaryIndex.getHighestSalary(patched));
+        assertEquals(
+                "Should not return removed employee",
+                List.of("Mid Earner", "Low Earner"),
+                salaryIndex.getTopEarnerNames(patched, 10)
+        );
+    }
+
+    @Test
+    void returnsZeroForEmptySnapshot() {
+        SalaryIndex salaryIndex = new SalaryIndex();
+
+        assertEquals(
+                "Should return 0 salary",
+                0,
+                salaryIndex.getHighestSalary(new EmployeeSnapshot(1, List.of(), 0))
+        );
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.rqchallenge.query;
+
+import com.example.rqchallenge.exception.RqChallengeApplicationException;
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeQuery;
+import com.example.rqchallenge.store.EmployeeColumns;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+
+class CompiledEmployeeQueryTest {
+
+    private final List<Employee> employees = employees(1000);
+
+    private final EmployeeColumns columns = EmployeeColumns.build(1, employees);
+
+    private EmployeeQueryEngine queryEngine;
+
+    @BeforeEach
+    public void init() {
+        queryEngine = new EmployeeQueryEngine();
+        ReflectionTestUtils.setField(queryEngine, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(queryEngine, "parallelism", 2);
+        ReflectionTestUtils.setField(queryEngine, "parallelThreshold", 100);
+        queryEngine.init();
+    }
+
+    @AfterEach
+    public void shutdown() {
+        queryEngine.shutdown();
+    }
+
+    @Test
+    void usesSalaryOrderForNarrowSalaryRange() {
+        EmployeeQuery query = new EmployeeQuery(1000, 1099, 30, null, null, false);
+
+        CompiledEmployeeQuery.Execution execution = CompiledEmployeeQuery.compile(query).execute(columns, queryEngine);
+
+        assertEquals("Should choose the salary index", CompiledEmployeeQuery.PLAN_SALARY_INDEX, execution.getPlan());
+        assertTrue("Should match a brute-force scan", Arrays.equals(bruteForce(query), execution.getRows()));
+    }
+
+    @Test
+    void scansForWideRangesAndNameCriteria() {
+        EmployeeQuery query = new EmployeeQuery(0, 8000, null, 40, "smith", true);
+
+        CompiledEmployeeQuery.Execution execution = CompiledEmployeeQuery.compile(query).execute(columns, queryEngine);
+
+        assertEquals("Should scan every row", CompiledEmployeeQuery.PLAN_SCAN, execution.getPlan());
+        assertTrue("Should match a brute-force scan", Arrays.equals(bruteForce(query), execution.getRows()));
+        assertTrue("Should find some rows", execution.getRows().length > 0);
+    }
+
+    @Test
+    void returnsEveryRowWithoutCriteria() {
+        CompiledEmployeeQuery.Execution execution = CompiledEmployeeQuery.compile(new EmployeeQuery()).execute(columns, queryEngine);
+
+        assertEquals("Should not filter", CompiledEmployeeQuery.PLAN_ALL, execution.getPlan());
+        assertEquals("Should return every row", 1000, execution.getRows().length);
+    }
+
+    @Test
+    void rejectsInvertedRanges() {
+        RqChallengeApplicationException exception = assertThrows(
+                RqChallengeApplicationException.class,
+                () -> CompiledEmployeeQuery.compile(new EmployeeQuery(5000, 1000, null, null, null, false))
+        );
+
+        assertEquals("Should have bad request status", HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    private int[] bruteForce(EmployeeQuery query) {
+        List<Integer> rows = new ArrayList<>();
+        for (int row = 0; row < employees.size(); row++) {
+            Employee employee = employees.get(row);
+            if (query.getSalaryMin() != null && (employee.getEmployeeSalary() == null || employee.getEmployeeSalary() < query.getSalaryMin())
+                    || query.getSalaryMax() != null && (employee.getEmployeeSalary() == null || employee.getEmployeeSalary() > query.getSalaryMax())
+                    || query.getAgeMin() != null && (employee.getEmployeeAge() == null || employee.getEmployeeAge() < query.getAgeMin())
+                    || query.getAgeMax() != null && (employee.getEmployeeAge() == null || employee.getEmployeeAge() > query.getAgeMax())
+                    || query.getNameLike() != null && (employee.getEmployeeName() == null
+                    || !employee.getEmployeeName().toLowerCase().contains(query.getNameLike().toLowerCase()))) {
+                continue;
+            }
+            rows.add(row);
+        }
+        return rows.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Integer salary = i % 50 == 0 ? null : (i * 37) % 10000;
+            String name = i % 3 == 0 ? "Alex Smith " + i : "Sam Jones " + i;
+            employees.add(new Employee(String.valueOf(i), i % 71 == 0 ? null : name, salary, 20 + i % 40, ""));
+        }
+        return employees;
+    }
+}
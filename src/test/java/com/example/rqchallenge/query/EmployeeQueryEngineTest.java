@@ -0,0 +1,85 @@
+package com.example.rqchallenge.query;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.store.EmployeeColumns;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+
+class EmployeeQueryEngineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<EmployeeQueryEngine> engines = new ArrayList<>();
+
+    @AfterEach
+    public void shutdown() {
+        engines.forEach(EmployeeQueryEngine::shutdown);
+    }
+
+    @Test
+    void parallelExecutionMatchesSequentialExecution() {
+        EmployeeColumns columns = EmployeeColumns.build(1, employees(50_000));
+        EmployeeQueryEngine sequential = engine(1, Integer.MAX_VALUE);
+        EmployeeQueryEngine parallel = engine(4, 0);
+        IntPredicate middleAged = row -> columns.hasAge(row) && columns.age(row) >= 30 && columns.age(row) < 50;
+
+        assertTrue(
+                "Should keep filtered rows in snapshot order",
+                Arrays.equals(sequential.filter(columns, middleAged), parallel.filter(columns, middleAged))
+        );
+        assertTrue(
+                "Should grow partial top-N past a single partition when merging",
+                Arrays.equals(sequential.topBySalary(columns, middleAged, 8000), parallel.topBySalary(columns, middleAged, 8000))
+        );
+        assertTrue(
+                "Should merge partial top-N into the same rows",
+                Arrays.equals(sequential.topBySalary(columns, middleAged, 25), parallel.topBySalary(columns, middleAged, 25))
+        );
+        assertEquals(
+                "Should have run on the dedicated pool",
+                3.0,
+                meterRegistry.counter("employee.query.executions", "mode", "parallel").count()
+        );
+    }
+
+    @Test
+    void ordersTopSalariesLikeTheColumnarStore() {
+        EmployeeColumns columns = EmployeeColumns.build(1, employees(20_000));
+        EmployeeQueryEngine parallel = engine(4, 0);
+
+        assertTrue(
+                "Should break salary ties by snapshot order",
+                Arrays.equals(columns.topRowsBySalary(100), parallel.topBySalary(columns, row -> true, 100))
+        );
+        assertEquals("Should return no rows for n of 0", 0, parallel.topBySalary(columns, row -> true, 0).length);
+    }
+
+    private EmployeeQueryEngine engine(int parallelism, int parallelThreshold) {
+        EmployeeQueryEngine engine = new EmployeeQueryEngine();
+        ReflectionTestUtils.setField(engine, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(engine, "parallelism", parallelism);
+        ReflectionTestUtils.setField(engine, "parallelThreshold", parallelThreshold);
+        engine.init();
+        engines.add(engine);
+        return engine;
+    }
+
+    private static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Integer salary = i % 97 == 0 ? null : (i * 7919) % 5000;
+            employees.add(new Employee(String.valueOf(i), "Employee " + (i % 500), salary, 20 + i % 45, ""));
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.rqchallenge.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertFalse;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+
+class AdaptiveRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void cutsRateOncePerCooldownOnThrottle() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(10, 1, 100, 1, 0.5, 60_000, 0, meterRegistry);
+
+        limiter.onThrottled();
+        limiter.onThrottled();
+
+        assertEquals("Burst of 429s should cut the rate once", 5.0, limiter.getPermitsPerSecond());
+    }
+
+    @Test
+    void neverCutsBelowMinimumRate() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(2, 1.5, 100, 1, 0.5, 0, 0, meterRegistry);
+
+        limiter.onThrottled();
+
+        assertEquals("Rate should stop at the minimum", 1.5, limiter.getPermitsPerSecond());
+    }
+
+    @Test
+    void shedsWhenPermitIsNotAvailableWithinBoundedWait() throws InterruptedException {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(1, 1, 100, 1, 0.5, 0, 0, meterRegistry);
+
+        assertTrue("First request should get a permit", limiter.tryAcquire());
+        assertFalse("Second request should be shed instead of waiting a second", limiter.tryAcquire());
+    }
+
+    @Test
+    void raisesRateOnlyWhileCallersWaitOnTheLimiter() throws InterruptedException {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(10, 1, 100, 1, 0.5, 0, 1_000, meterRegistry);
+
+        limiter.tryAcquire();
+        limiter.onSuccess();
+        double afterUnthrottledCall = limiter.getPermitsPerSecond();
+        limiter.tryAcquire();
+        limiter.onSuccess();
+
+        assertEquals("Should not raise the rate when nobody waited", 10.0, afterUnthrottledCall);
+        assertTrue("Should raise the rate after a caller waited", limiter.getPermitsPerSecond() > 10.0);
+    }
+}
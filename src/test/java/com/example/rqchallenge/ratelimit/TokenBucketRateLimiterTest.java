@@ -0,0 +1,32 @@
+package com.example.rqchallenge.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.util.AssertionErrors.assertFalse;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+
+class TokenBucketRateLimiterTest {
+
+    @Test
+    void spacesPermitsAtConfiguredRate() throws InterruptedException {
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(10);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 6; i++) {
+            rateLimiter.acquire();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue("Six permits at 10/s should take about half a second", elapsedMillis >= 400);
+    }
+
+    @Test
+    void refusesPermitThatWouldExceedTimeout() throws InterruptedException {
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(1);
+
+        assertTrue("First permit should be immediate", rateLimiter.tryAcquire(0, TimeUnit.MILLISECONDS));
+        assertFalse("Second permit should not be available immediately", rateLimiter.tryAcquire(10, TimeUnit.MILLISECONDS));
+    }
+}
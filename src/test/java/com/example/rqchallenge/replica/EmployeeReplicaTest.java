@@ -0,0 +1,98 @@
+package com.example.rqchallenge.replica;
+
+import com.example.rqchallenge.cache.EmployeeSnapshotCache;
+import com.example.rqchallenge.client.EmployeeClient;
+import com.example.rqchallenge.event.EmployeeCreatedEvent;
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.service.IEmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+
+@SpringBootTest(properties = {
+        "employeeReplica.enabled=true",
+        "employeeReplica.path=build/tmp/replica-test/employee-replica.json"
+})
+class EmployeeReplicaTest {
+
+    private static final Path REPLICA_PATH = Path.of("build/tmp/replica-test/employee-replica.json");
+
+    @Autowired
+    private EmployeeReplica employeeReplica;
+
+    @Autowired
+    private EmployeeSnapshotCache employeeSnapshotCache;
+
+    @Autowired
+    private IEmployeeService employeeService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @MockBean
+    private EmployeeClient employeeClient;
+
+    private final Employee employee = new Employee("1", "Alex Marson", 100000, 25, "profileImg");
+    private final Employee employee2 = new Employee("2", "Bob Smith", 20000, 30, "profileImg");
+
+    @BeforeEach
+    public void init() throws Exception {
+        employeeReplica.awaitPendingWrites();
+        employeeSnapshotCache.clear();
+        Files.deleteIfExists(REPLICA_PATH);
+    }
+
+    @Test
+    void persistsLoadedSnapshotAndSeedsCacheFromIt() throws Exception {
+        when(employeeClient.getAllEmployees()).thenReturn(List.of(employee, employee2));
+        employeeSnapshotCache.getSnapshot();
+        employeeReplica.awaitPendingWrites();
+
+        assertTrue("Replica file should be written", Files.exists(REPLICA_PATH));
+
+        employeeSnapshotCache.clear();
+        assertTrue("Cache should be seeded from the replica", employeeReplica.seedCache());
+        assertEquals("Seeded cache should serve every employee", 2, employeeService.getAllEmployees().size());
+        verify(employeeClient, times(1)).getAllEmployees();
+    }
+
+    @Test
+    void writesCreatedEmployeeThroughToReplica() throws Exception {
+        when(employeeClient.getAllEmployees()).thenReturn(List.of(employee));
+        employeeSnapshotCache.getSnapshot();
+
+        eventPublisher.publishEvent(new EmployeeCreatedEvent(employee2));
+        employeeReplica.awaitPendingWrites();
+        employeeSnapshotCache.clear();
+        employeeReplica.seedCache();
+
+        assertTrue(
+                "Created employee should survive a reload from the replica",
+                employeeSnapshotCache.findCachedEmployee("2").isPresent()
+        );
+    }
+
+    @Test
+    void servesEmployeeByIdFromReplicaWithoutUpstreamCall() {
+        when(employeeClient.getAllEmployees()).thenReturn(List.of(employee, employee2));
+        employeeSnapshotCache.getSnapshot();
+
+        assertEquals("Should serve the replicated employee", "Bob Smith", employeeService.getEmployeeById("2").getEmployeeName());
+        verify(employeeClient, never()).getSingleEmployee(any());
+    }
+}
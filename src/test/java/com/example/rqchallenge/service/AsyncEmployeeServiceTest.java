@@ -0,0 +1,207 @@
+package com.example.rqchallenge.service;
+
+import com.example.rqchallenge.client.EmployeeClient;
+import com.example.rqchallenge.exception.RateLimitExceededException;
+import com.example.rqchallenge.exception.RqChallengeApplicationException;
+import com.example.rqchallenge.exception.UpstreamUnavailableException;
+import com.example.rqchallenge.model.CreateEmployeeRequest;
+import com.example.rqchallenge.model.CreateEmployeeStatus;
+import com.example.rqchallenge.service.impl.AsyncEmployeeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertNotNull;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+
+@SpringBootTest(properties = {
+        "employeeAsyncCreate.queueCapacity=1",
+        "employeeAsyncCreate.maxConcurrency=1",
+        "employeeAsyncCreate.initialBackoffMillis=10"
+})
+class AsyncEmployeeServiceTest {
+
+    @Autowired
+    private IAsyncEmployeeService asyncEmployeeService;
+
+    @MockBean
+    private EmployeeClient employeeClient;
+
+    @Test
+    void reportsSuccessOfQueuedCreate() throws Exception {
+        when(employeeClient.createEmployee("Alex", "100000", "25")).thenReturn("success");
+
+        CreateEmployeeStatus queued = asyncEmployeeService.submitCreate(new CreateEmployeeRequest("Alex", "100000", "25"));
+        CreateEmployeeStatus done = awaitDone(queued.getTrackingId());
+
+        assertEquals("Should succeed", CreateEmployeeStatus.SUCCEEDED, done.getStatus());
+        assertEquals("Should carry upstream status", "success", done.getResult());
+        assertEquals("Should take one attempt", 1, done.getAttempts());
+    }
+
+    @Test
+    void retriesCreateRejectedBeforeReachingUpstream() throws Exception {
+        when(employeeClient.createEmployee("Bob", "20000", "30"))
+                .thenThrow(new RateLimitExceededException("Employee service rate limit reached for :: create", Duration.ofMillis(10)))
+                .thenReturn("success");
+
+        CreateEmployeeStatus queued = asyncEmployeeService.submitCreate(new CreateEmployeeRequest("Bob", "20000", "30"));
+        CreateEmployeeStatus done = awaitDone(queued.getTrackingId());
+
+        assertEquals("Should succeed after retry", CreateEmployeeStatus.SUCCEEDED, done.getStatus());
+        assertEquals("Should take two attempts", 2, done.getAttempts());
+    }
+
+    @Test
+    void retriesCreateThrottledWithRetryAfter() throws Exception {
+        when(employeeClient.createEmployee("Erin", "20000", "30"))
+                .thenThrow(new RqChallengeApplicationException("Too Many Requests", HttpStatus.TOO_MANY_REQUESTS, Duration.ofMillis(10)))
+                .thenReturn("success");
+
+        CreateEmployeeStatus queued = asyncEmployeeService.submitCreate(new CreateEmployeeRequest("Erin", "20000", "30"));
+        CreateEmployeeStatus done = awaitDone(queued.getTrackingId());
+
+        assertEquals("Should succeed after retry", CreateEmployeeStatus.SUCCEEDED, done.getStatus());
+        assertEquals("Should take two attempts", 2, done.getAttempts());
+    }
+
+    @Test
+    void doesNotRetryCreateTheUpstreamMayHaveApplied() throws Exception {
+        when(employeeClient.createEmployee("Finn", "20000", "30"))
+                .thenThrow(new RqChallengeApplicationException("Service Unavailable", HttpStatus.SERVICE_UNAVAILABLE))
+                .thenReturn("success");
+        when(employeeClient.createEmployee("Gail", "20000", "30"))
+                .thenThrow(new RqChallengeApplicationException("Too Many Requests", HttpStatus.TOO_MANY_REQUESTS))
+                .thenReturn("success");
+
+        CreateEmployeeStatus unavailable = awaitDone(asyncEmployeeService.submitCreate(new CreateEmployeeRequest("Finn", "20000", "30")).getTrackingId());
+        CreateEmployeeStatus throttled = awaitDone(asyncEmployeeService.submitCreate(new CreateEmployeeRequest("Gail", "20000", "30")).getTrackingId());
+
+        assertEquals("Should not retry an upstream 503", CreateEmployeeStatus.FAILED, unavailable.getStatus());
+        assertEquals("Should take one attempt", 1, unavailable.getAttempts());
+        assertEquals("Should not retry a 429 without Retry-After", CreateEmployeeStatus.FAILED, throttled.getStatus());
+        assertEquals("Should take one attempt", 1, throttled.getAttempts());
+    }
+
+    @Test
+    void doesNotRetryCreateFailedByUpstream() throws Exception {
+        when(employeeClient.createEmployee("Carl", "30000", "40"))
+                .thenThrow(new RqChallengeApplicationException("Internal Server Error", HttpStatus.INTERNAL_SERVER_ERROR));
+
+        CreateEmployeeStatus queued = asyncEmployeeService.submitCreate(new CreateEmployeeRequest("Carl", "30000", "40"));
+        CreateEmployeeStatus done = awaitDone(queued.getTrackingId());
+
+        assertEquals("Should fail", CreateEmployeeStatus.FAILED, done.getStatus());
+        assertEquals("Should report upstream error", "Internal Server Error", done.getError());
+        assertEquals("Should take one attempt", 1, done.getAttempts());
+    }
+
+    @Test
+    void rejectsInvalidCreateRequest() {
+        RqChallengeApplicationException exception = assertThrows(RqChallengeApplicationException.class, () ->
+                asyncEmployeeService.submitCreate(new CreateEmployeeRequest(null, "100000", "25")));
+
+        assertEquals("Should have bad request status", HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    void rejectsUnknownTrackingId() {
+        RqChallengeApplicationException exception = assertThrows(RqChallengeApplicationException.class, () ->
+                asyncEmployeeService.getCreateStatus("missing"));
+
+        assertEquals("Should have not found status", HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    @Test
+    void rejectsCreatesWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(employeeClient.createEmployee(any(), any(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "success";
+        });
+        List<String> accepted = new ArrayList<>();
+        try {
+            // one create in the worker, one held by the dispatcher and one in the queue before anything is refused
+            UpstreamUnavailableException rejection = null;
+            for (int i = 0; i < 10 && rejection == null; i++) {
+                try {
+                    accepted.add(asyncEmployeeService.submitCreate(new CreateEmployeeRequest("Dana", "100000", "25")).getTrackingId());
+                    Thread.sleep(50);
+                } catch (UpstreamUnavailableException e) {
+                    rejection = e;
+                }
+            }
+
+            assertNotNull("Should refuse creates once the queue is full", rejection);
+            assertEquals("Should have service unavailable status", HttpStatus.SERVICE_UNAVAILABLE, rejection.getStatus());
+            assertNotNull("Should ask the client to retry later", rejection.getRetryAfter());
+        } finally {
+            release.countDown();
+            for (String trackingId : accepted) {
+                awaitDone(trackingId);
+            }
+        }
+    }
+
+    @Test
+    void failsCreatesStillQueuedAfterShutdownTimeout() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        EmployeeClient blockingClient = mock(EmployeeClient.class);
+        when(blockingClient.createEmployee(any(), any(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "success";
+        });
+        AsyncEmployeeService service = new AsyncEmployeeService();
+        ReflectionTestUtils.setField(service, "employeeClient", blockingClient);
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "queueCapacity", 10);
+        ReflectionTestUtils.setField(service, "maxConcurrency", 1);
+        ReflectionTestUtils.setField(service, "maxAttempts", 1);
+        ReflectionTestUtils.setField(service, "statusRetentionMillis", 60000L);
+        ReflectionTestUtils.setField(service, "shutdownTimeoutMillis", 100L);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        try {
+            List<String> trackingIds = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                trackingIds.add(service.submitCreate(new CreateEmployeeRequest("Hale", "100000", "25")).getTrackingId());
+            }
+
+            ReflectionTestUtils.invokeMethod(service, "shutdown");
+
+            for (String trackingId : trackingIds) {
+                CreateEmployeeStatus status = service.getCreateStatus(trackingId);
+                assertEquals("Should fail creates left at shutdown", CreateEmployeeStatus.FAILED, status.getStatus());
+            }
+            assertThrows(UpstreamUnavailableException.class, () ->
+                    service.submitCreate(new CreateEmployeeRequest("Hale", "100000", "25")));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private CreateEmployeeStatus awaitDone(String trackingId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        CreateEmployeeStatus status = asyncEmployeeService.getCreateStatus(trackingId);
+        while (!status.isDone() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            status = asyncEmployeeService.getCreateStatus(trackingId);
+        }
+        assertTrue("Create should complete", status.isDone());
+        return status;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.rqchallenge.service;
+
+import com.example.rqchallenge.client.EmployeeClient;
+import com.example.rqchallenge.exception.RqChallengeApplicationException;
+import com.example.rqchallenge.model.BulkOperationResult;
+import com.example.rqchallenge.model.CreateEmployeeRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+
+@SpringBootTest
+class BulkEmployeeServiceTest {
+
+    @Autowired
+    private IBulkEmployeeService bulkEmployeeService;
+
+    @MockBean
+    private EmployeeClient employeeClient;
+
+    @Test
+    void reportsResultForEveryCreateRequest() throws Exception {
+        when(employeeClient.createEmployee("Alex", "100000", "25")).thenReturn("success");
+        List<CreateEmployeeRequest> requests = new ArrayList<>();
+        requests.add(new CreateEmployeeRequest("Alex", "100000", "25"));
+        requests.add(new CreateEmployeeRequest(null, "100000", "25"));
+
+        List<BulkOperationResult> results = Collections.synchronizedList(new ArrayList<>());
+        bulkEmployeeService.createEmployees(requests, results::add).get(5, TimeUnit.SECONDS);
+        results.sort(Comparator.comparingInt(BulkOperationResult::getIndex));
+
+        assertEquals("Should report every item", 2, results.size());
+        assertEquals("Valid request should succeed", BulkOperationResult.SUCCESS, results.get(0).getStatus());
+        assertEquals("Should carry upstream status", "success", results.get(0).getResult());
+        assertEquals("Invalid request should fail", BulkOperationResult.FAILED, results.get(1).getStatus());
+    }
+
+    @Test
+    void reportsFailedDeleteWithoutAbortingBatch() throws Exception {
+        when(employeeClient.deleteEmployeeById("1")).thenReturn("Alex Marson");
+        when(employeeClient.deleteEmployeeById("2")).thenThrow(new RqChallengeApplicationException("Internal Server Error", HttpStatus.INTERNAL_SERVER_ERROR));
+
+        List<BulkOperationResult> results = Collections.synchronizedList(new ArrayList<>());
+        bulkEmployeeService.deleteEmployeesByIds(List.of("1", "2"), results::add).get(5, TimeUnit.SECONDS);
+        results.sort(Comparator.comparingInt(BulkOperationResult::getIndex));
+
+        assertEquals("Should report every item", 2, results.size());
+        assertEquals("Should return deleted name", "Alex Marson", results.get(0).getResult());
+        assertEquals("Should report upstream error", "Internal Server Error", results.get(1).getError());
+    }
+
+    @Test
+    void stopsDispatchingWhenCancelled() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(employeeClient.createEmployee(any(), any(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "success";
+        });
+        List<CreateEmployeeRequest> requests = Collections.nCopies(50, new CreateEmployeeRequest("Alex", "100000", "25"));
+
+        List<BulkOperationResult> results = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> completion = bulkEmployeeService.createEmployees(requests, results::add);
+        Thread.sleep(100);
+        completion.cancel(false);
+        release.countDown();
+        Thread.sleep(200);
+
+        verify(employeeClient, atMost(8)).createEmployee(any(), any(), any());
+        assertTrue("Should not report results after cancellation", results.isEmpty());
+    }
+
+    @Test
+    void rejectsBatchLargerThanMaximum() {
+        List<String> ids = Collections.nCopies(10001, "1");
+
+        RqChallengeApplicationException exception = assertThrows(RqChallengeApplicationException.class, () ->
+                bulkEmployeeService.deleteEmployeesByIds(ids, result -> { }));
+
+        assertEquals("Should have bad request status", HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+}
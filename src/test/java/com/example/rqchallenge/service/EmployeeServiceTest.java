@@ -1,9 +1,18 @@
 package com.example.rqchallenge.service;
 
+import com.example.rqchallenge.cache.EmployeeSnapshotCache;
 import com.example.rqchallenge.client.EmployeeClient;
 import com.example.rqchallenge.model.CreateEmployeeRequest;
 import com.example.rqchallenge.exception.RqChallengeApplicationException;
 import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeePage;
+import com.example.rqchallenge.model.EmployeePageRequest;
+import com.example.rqchallenge.model.EmployeeQuery;
+import com.example.rqchallenge.model.EmployeeQueryResult;
+import com.example.rqchallenge.model.AgeBandSalary;
+import com.example.rqchallenge.model.SalaryHistogramBucket;
+import com.example.rqchallenge.model.SalaryStatistics;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -26,6 +35,13 @@ class EmployeeServiceTest {
     @MockBean
     private EmployeeClient employeeClient;
 
+    @Autowired
+    private EmployeeSnapshotCache employeeSnapshotCache;
+
+    @BeforeEach
+    public void init() {
+        employeeSnapshotCache.clear();
+    }
 
     @Test
     void shouldReturnAllEmployeesWhenClientResponseSuccessful() {
@@ -167,6 +183,58 @@ class EmployeeServiceTest {
 
     }
 
+    @Test
+    void shouldMatchNamesIgnoringCaseWhenRequested() {
+        Employee employee1 = generateEmployee("1", "Rob Smith", 30000, 25, "profileImg");
+        Employee employee2 = generateEmployee("2", "Sarah Robinson", 60000, 23, "profileImage");
+
+        List<Employee> employeesList = new ArrayList<>();
+        employeesList.add(employee1);
+        employeesList.add(employee2);
+
+        when(employeeClient.getAllEmployees()).thenReturn(employeesList);
+
+        assertTrue("Case sensitive search should not match", employeeService.getEmployeesByNames("rob").isEmpty());
+        List<Employee> actual = employeeService.getEmployeesByNames("ROB", true, false);
+
+        assertTrue("Should return Rob", actual.contains(employee1));
+        assertTrue("Should return Sarah", actual.contains(employee2));
+    }
+
+    @Test
+    void shouldOnlyMatchNamePrefixWhenRequested() {
+        Employee employee1 = generateEmployee("1", "Rob Smith", 30000, 25, "profileImg");
+        Employee employee2 = generateEmployee("2", "Sarah Robinson", 60000, 23, "profileImage");
+
+        List<Employee> employeesList = new ArrayList<>();
+        employeesList.add(employee1);
+        employeesList.add(employee2);
+
+        when(employeeClient.getAllEmployees()).thenReturn(employeesList);
+
+        List<Employee> actual = employeeService.getEmployeesByNames("Rob", false, true);
+
+        assertTrue("Should return Rob", actual.contains(employee1));
+        assertFalse("Should not return Sarah", actual.contains(employee2));
+    }
+
+    @Test
+    void shouldSkipEmployeesWithoutNameWhenSearching() {
+        Employee employee1 = generateEmployee("1", null, 30000, 25, "profileImg");
+        Employee employee2 = generateEmployee("2", "Robert White", 50000, 32, "profileImg");
+
+        List<Employee> employeesList = new ArrayList<>();
+        employeesList.add(employee1);
+        employeesList.add(employee2);
+
+        when(employeeClient.getAllEmployees()).thenReturn(employeesList);
+
+        List<Employee> actual = employeeService.getEmployeesByNames("Rob");
+
+        assertFalse("Should not return employee without name", actual.contains(employee1));
+        assertTrue("Should return Robert", actual.contains(employee2));
+    }
+
     @Test
     void shouldReturnEmptyListWhenClientResponseIsEmpty() {
         when(employeeClient.getAllEmployees()).thenReturn(new ArrayList<>());
@@ -260,6 +328,146 @@ class EmployeeServiceTest {
         );
     }
 
+    @Test
+    void shouldReturnRequestedNumberOfTopEarners() {
+        List<Employee> employeeList = new ArrayList<>();
+        for (int i = 0; i <= 20; i++) {
+            Employee employee = generateEmployee(
+                    String.valueOf(i),
+                    "Name " + i,
+                    1000 + i,
+                    22,
+                    "profileImage"
+            );
+            employeeList.add(employee);
+        }
+
+        when(employeeClient.getAllEmployees()).thenReturn(employeeList);
+
+        List<String> highestEarningEmployeeNames = employeeService.getTopHighestEarningEmployeeNames(15);
+
+        assertEquals(
+                "List should be the requested size",
+                15,
+                highestEarningEmployeeNames.size()
+        );
+        assertEquals(
+                "Highest earner should be first",
+                "Name 20",
+                highestEarningEmployeeNames.get(0)
+        );
+        assertEquals(
+                "Lowest requested earner should be last",
+                "Name 6",
+                highestEarningEmployeeNames.get(14)
+        );
+    }
+
+    @Test
+    void shouldThrowExceptionWhenTopEarnerCountIsNegative() {
+        RqChallengeApplicationException exception = assertThrows(RqChallengeApplicationException.class, () ->
+                employeeService.getTopHighestEarningEmployeeNames(-1));
+
+        assertEquals(
+                "Should have bad request status",
+                HttpStatus.BAD_REQUEST,
+                exception.getStatus()
+        );
+    }
+
+    @Test
+    void shouldPageThroughSortedEmployeesUsingNextCursor() {
+        List<Employee> employeeList = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            employeeList.add(generateEmployee(String.valueOf(i), "Name " + i, 1000 + i, 22, "profileImage"));
+        }
+        when(employeeClient.getAllEmployees()).thenReturn(employeeList);
+
+        EmployeePage firstPage = employeeService.getEmployeePage(new EmployeePageRequest(2, null, "-salary", null));
+
+        assertEquals("Total should count every employee", 5, firstPage.getTotal());
+        assertEquals("First page should hold the limit", 2, firstPage.getEmployees().size());
+        assertEquals("Highest earner should be first", "Name 4", firstPage.getEmployees().get(0).getEmployeeName());
+        assertNotNull("First page should have a next cursor", firstPage.getNextCursor());
+
+        EmployeePage lastPage = employeeService.getEmployeePage(new EmployeePageRequest(10, firstPage.getNextCursor(), "-salary", null));
+
+        assertEquals("Last page should hold the remainder", 3, lastPage.getEmployees().size());
+        assertEquals("Last page should continue the order", "Name 2", lastPage.getEmployees().get(0).getEmployeeName());
+        assertNull("Last page should not have a next cursor", lastPage.getNextCursor());
+    }
+
+    @Test
+    void shouldRejectCursorFromAnotherSnapshotOrSort() {
+        List<Employee> employeeList = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            employeeList.add(generateEmployee(String.valueOf(i), "Name " + i, 1000 + i, 22, "profileImage"));
+        }
+        when(employeeClient.getAllEmployees()).thenReturn(employeeList);
+        String cursor = employeeService.getEmployeePage(new EmployeePageRequest(2, null, "-salary", null)).getNextCursor();
+
+        RqChallengeApplicationException otherSort = assertThrows(RqChallengeApplicationException.class, () ->
+                employeeService.getEmployeePage(new EmployeePageRequest(2, cursor, "name", null)));
+        RqChallengeApplicationException otherListing = assertThrows(RqChallengeApplicationException.class, () ->
+                employeeService.getEmployeePageByNames("Name", false, false, new EmployeePageRequest(2, cursor, "-salary", null)));
+
+        List<Employee> changedList = new ArrayList<>(employeeList);
+        changedList.add(generateEmployee("5", "Name 5", 2000, 22, "profileImage"));
+        when(employeeClient.getAllEmployees()).thenReturn(changedList);
+        employeeSnapshotCache.clear();
+        RqChallengeApplicationException otherSnapshot = assertThrows(RqChallengeApplicationException.class, () ->
+                employeeService.getEmployeePage(new EmployeePageRequest(2, cursor, "-salary", null)));
+
+        assertEquals("Should reject a cursor for another sort", HttpStatus.BAD_REQUEST, otherSort.getStatus());
+        assertEquals("Should reject a cursor for another listing", HttpStatus.BAD_REQUEST, otherListing.getStatus());
+        assertEquals("Should reject a cursor from an older snapshot", HttpStatus.BAD_REQUEST, otherSnapshot.getStatus());
+    }
+
+    @Test
+    void shouldProjectOnlyRequestedFields() {
+        List<Employee> employeeList = new ArrayList<>();
+        employeeList.add(generateEmployee("1", "Alex Marson", 100000, 25, "profileImage"));
+        when(employeeClient.getAllEmployees()).thenReturn(employeeList);
+
+        Employee projected = employeeService.getEmployeePage(new EmployeePageRequest(null, null, null, "id,employee_name"))
+                .getEmployees()
+                .get(0);
+
+        assertEquals("Should keep requested id", "1", projected.getId());
+        assertEquals("Should keep requested name", "Alex Marson", projected.getEmployeeName());
+        assertNull("Should drop salary", projected.getEmployeeSalary());
+        assertNull("Should drop profile image", projected.getProfileImage());
+    }
+
+    @Test
+    void shouldSortSearchResultsByName() {
+        List<Employee> employeeList = new ArrayList<>();
+        employeeList.add(generateEmployee("1", "Alex Zed", 1000, 25, "profileImage"));
+        employeeList.add(generateEmployee("2", "Alex Adams", 2000, 30, "profileImage"));
+        when(employeeClient.getAllEmployees()).thenReturn(employeeList);
+
+        EmployeePage page = employeeService.getEmployeePageByNames("Alex", false, false, new EmployeePageRequest(null, null, "name", null));
+
+        assertEquals("Should sort matches by name", "Alex Adams", page.getEmployees().get(0).getEmployeeName());
+        assertEquals("Should include all matches", 2, page.getTotal());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenPageRequestIsInvalid() {
+        when(employeeClient.getAllEmployees()).thenReturn(new ArrayList<>());
+
+        RqChallengeApplicationException badSort = assertThrows(RqChallengeApplicationException.class, () ->
+                employeeService.getEmployeePage(new EmployeePageRequest(null, null, "height", null)));
+        RqChallengeApplicationException badLimit = assertThrows(RqChallengeApplicationException.class, () ->
+                employeeService.getEmployeePage(new EmployeePageRequest(0, null, null, null)));
+        RqChallengeApplicationException badCursor = assertThrows(RqChallengeApplicationException.class, () ->
+                employeeService.getEmployeePage(new EmployeePageRequest(null, "not-a-cursor", null, null)));
+
+        assertEquals("Should have bad request status", HttpStatus.BAD_REQUEST, badSort.getStatus());
+        assertEquals("Should have bad request status", HttpStatus.BAD_REQUEST, badLimit.getStatus());
+        assertEquals("Should have bad request status", HttpStatus.BAD_REQUEST, badCursor.getStatus());
+    }
+
     @Test
     void shouldReturnSingleHighestSalaryWhenClientResponseNotEmpty() {
         List<Employee> employeeList = new ArrayList<>();
@@ -294,6 +502,81 @@ class EmployeeServiceTest {
         );
     }
 
+    @Test
+    void shouldQueryEmployeesBySalaryAgeAndName() {
+        when(employeeClient.getAllEmployees()).thenReturn(List.of(
+                generateEmployee("1", "Alex Marson", 1000, 25, ""),
+                generateEmployee("2", "Alex Smith", 2000, 31, ""),
+                generateEmployee("3", "Alexa Stone", 3000, 38, ""),
+                generateEmployee("4", "Bob Alexander", 4000, 44, ""),
+                generateEmployee("5", "Carl Jones", 5000, 30, "")
+        ));
+
+        EmployeeQueryResult result = employeeService.queryEmployees(
+                new EmployeeQuery(1500, null, null, 40, "alex", true),
+                new EmployeePageRequest(1, null, "-salary", null)
+        );
+
+        assertEquals("Total should count every match", 2, result.getPage().getTotal());
+        assertEquals("Highest matching earner should be first", "Alexa Stone", result.getPage().getEmployees().get(0).getEmployeeName());
+        assertNotNull("Should have a next cursor", result.getPage().getNextCursor());
+        assertNotNull("Should report the chosen plan", result.getPlan());
+    }
+
+    @Test
+    void shouldComputeSalaryStatisticsFromSnapshot() {
+        when(employeeClient.getAllEmployees()).thenReturn(List.of(
+                generateEmployee("1", "A", 1000, 25, ""),
+                generateEmployee("2", "B", 2000, 31, ""),
+                generateEmployee("3", "C", 3000, 38, ""),
+                generateEmployee("4", "D", 4000, 44, ""),
+                generateEmployee("5", "E", null, 50, "")
+        ));
+
+        SalaryStatistics statistics = employeeService.getSalaryStatistics();
+
+        assertEquals("Should skip employees without salary", 4L, statistics.getCount());
+        assertEquals("Should return minimum salary", 1000, statistics.getMin());
+        assertEquals("Should return maximum salary", 4000, statistics.getMax());
+        assertEquals("Should return average salary", 2500.0, statistics.getAverage());
+        assertEquals("Should return population standard deviation", Math.sqrt(1250000), statistics.getStandardDeviation());
+        assertEquals("Should return median salary", 2000, statistics.getP50());
+        assertEquals("Should return p99 salary", 4000, statistics.getP99());
+        assertTrue("Should memoize until the snapshot changes", statistics == employeeService.getSalaryStatistics());
+    }
+
+    @Test
+    void shouldBucketSalariesAndGroupThemByAgeBand() {
+        when(employeeClient.getAllEmployees()).thenReturn(List.of(
+                generateEmployee("1", "A", 1000, 25, ""),
+                generateEmployee("2", "B", 2000, 31, ""),
+                generateEmployee("3", "C", 3000, 38, ""),
+                generateEmployee("4", "D", 4000, 44, "")
+        ));
+
+        List<SalaryHistogramBucket> histogram = employeeService.getSalaryHistogram(2);
+        assertEquals("Should return requested number of buckets", 2, histogram.size());
+        assertEquals("Should start at minimum salary", 1000L, histogram.get(0).getLowerBound());
+        assertEquals("Should count salaries in lower bucket", 2L, histogram.get(0).getCount());
+        assertEquals("Should count salaries in upper bucket", 2L, histogram.get(1).getCount());
+
+        List<AgeBandSalary> ageBands = employeeService.getSalaryByAgeBand(10);
+        assertEquals("Should only return populated bands", 3, ageBands.size());
+        assertEquals("Should start band at multiple of width", 30, ageBands.get(1).getMinAge());
+        assertEquals("Should count employees in band", 2L, ageBands.get(1).getCount());
+        assertEquals("Should average salaries in band", 2500.0, ageBands.get(1).getAverageSalary());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenHistogramBucketsAreInvalid() {
+        RqChallengeApplicationException exception = assertThrows(
+                RqChallengeApplicationException.class,
+                () -> employeeService.getSalaryHistogram(0)
+        );
+
+        assertEquals("Should have bad request status", HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
     @Test
     void shouldCreateEmployeeWhenRequestIsValid() {
         CreateEmployeeRequest createEmployeeRequest = new CreateEmployeeRequest("Alex", "1000000", "25");
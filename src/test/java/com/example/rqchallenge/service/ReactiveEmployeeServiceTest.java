@@ -0,0 +1,97 @@
+package com.example.rqchallenge.service;
+
+import com.example.rqchallenge.cache.EmployeeSnapshotCache;
+import com.example.rqchallenge.client.EmployeeClient;
+import com.example.rqchallenge.client.ReactiveEmployeeClient;
+import com.example.rqchallenge.exception.RqChallengeApplicationException;
+import com.example.rqchallenge.model.CreateEmployeeRequest;
+import com.example.rqchallenge.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "dummyService.clientMode=reactive")
+class ReactiveEmployeeServiceTest {
+
+    @Autowired
+    private IReactiveEmployeeService employeeService;
+
+    @Autowired
+    private EmployeeSnapshotCache employeeSnapshotCache;
+
+    @MockBean
+    private EmployeeClient employeeClient;
+
+    @MockBean
+    private ReactiveEmployeeClient reactiveEmployeeClient;
+
+    private final Employee employee = new Employee("1", "Rob Smith", 30000, 25, "profileImg");
+    private final Employee employee2 = new Employee("2", "Sarah Smith", 60000, 23, "profileImg");
+
+    @BeforeEach
+    public void init() {
+        employeeSnapshotCache.clear();
+    }
+
+    @Test
+    void shouldReturnHighestSalaryFromSnapshot() {
+        when(employeeClient.getAllEmployees()).thenReturn(List.of(employee, employee2));
+
+        StepVerifier.create(employeeService.getHighestSalary())
+                .expectNext(60000)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReturnZeroSalaryWhenSnapshotEmpty() {
+        when(employeeClient.getAllEmployees()).thenReturn(List.of());
+
+        StepVerifier.create(employeeService.getHighestSalary())
+                .expectNext(0)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReturnTopEarnersInSalaryOrder() {
+        when(employeeClient.getAllEmployees()).thenReturn(List.of(employee, employee2));
+
+        StepVerifier.create(employeeService.getTopTenHighestEarningEmployeeNames())
+                .expectNext("Sarah Smith", "Rob Smith")
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReturnMatchingNameEmployees() {
+        when(employeeClient.getAllEmployees()).thenReturn(List.of(employee, employee2));
+
+        StepVerifier.create(employeeService.getEmployeesByNames("Rob"))
+                .expectNextMatches(e -> "1".equals(e.getId()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldShareSnapshotAcrossReactiveReads() {
+        when(employeeClient.getAllEmployees()).thenReturn(List.of(employee, employee2));
+
+        StepVerifier.create(employeeService.getAllEmployees()).expectNextCount(2).verifyComplete();
+        StepVerifier.create(employeeService.getHighestSalary()).expectNext(60000).verifyComplete();
+
+        verify(employeeClient, times(1)).getAllEmployees();
+    }
+
+    @Test
+    void shouldErrorWhenCreateRequestIsInvalid() {
+        StepVerifier.create(employeeService.createEmployee(new CreateEmployeeRequest(null, "Salary", "")))
+                .expectError(RqChallengeApplicationException.class)
+                .verify();
+    }
+}
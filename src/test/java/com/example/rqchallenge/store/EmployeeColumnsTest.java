@@ -0,0 +1,99 @@
+package com.example.rqchallenge.store;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeField;
+import com.example.rqchallenge.model.EmployeeSort;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertNull;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+
+class EmployeeColumnsTest {
+
+    private final Employee low = new Employee("1", "Sam Low", 1000, 25, "low.png");
+    private final Employee mid = new Employee("2", "Sam Mid", 5000, 30, "");
+    private final Employee high = new Employee("3", "Sam High", 9000, 40, "");
+    private final Employee tied = new Employee("4", "Sam Mid", 5000, 52, "");
+    private final Employee unpaid = new Employee("5", null, null, null, "");
+
+    @Test
+    void aggregatesSalariesFromPrimitiveColumns() {
+        EmployeeColumns columns = EmployeeColumns.build(1, List.of(low, mid, unpaid, high, tied));
+
+        assertEquals("Should return highest salary", 9000, columns.maxSalary());
+        assertEquals("Should order top earners with ties in snapshot order", "[3, 1, 4, 0]", Arrays.toString(columns.topRowsBySalary(4)));
+        assertEquals("Should put employees without salary last", 2, columns.topRowsBySalary(10)[4]);
+        assertEquals("Should skip missing salaries for the median", 5000, columns.salaryPercentile(50));
+        assertEquals("Should return lowest salary for p0", 1000, columns.salaryPercentile(0));
+        assertEquals("Should return highest salary for p100", 9000, columns.salaryPercentile(100));
+        assertEquals("Should dictionary-encode repeated names", 3, columns.distinctNames());
+    }
+
+    @Test
+    void filtersRowsWithoutMaterializingEmployees() {
+        EmployeeColumns columns = EmployeeColumns.build(1, List.of(low, mid, unpaid, high, tied));
+
+        assertEquals("Should filter by salary range", "[1, 4]", Arrays.toString(columns.rowsWithSalaryBetween(5000, 5000)));
+        assertEquals("Should estimate rows in the salary range", 2, columns.estimateRowsWithSalaryBetween(5000, 5000));
+    }
+
+    @Test
+    void materializesOnlyRequestedFields() {
+        EmployeeColumns columns = EmployeeColumns.build(1, List.of(low, new Employee("emp-7", "Text Id", 10, 20, "")));
+
+        Employee projected = columns.materialize(0, EnumSet.of(EmployeeField.ID, EmployeeField.PROFILE_IMAGE));
+        assertEquals("Should rebuild numeric id", "1", projected.getId());
+        assertEquals("Should read profile image from its column", "low.png", projected.getProfileImage());
+        assertNull("Should leave unrequested fields empty", projected.getEmployeeSalary());
+        assertEquals("Should keep non-numeric ids", "emp-7", columns.id(1));
+    }
+
+    @Test
+    void materializesFullEmployeesFromColumns() {
+        EmployeeColumns columns = EmployeeColumns.build(1, List.of(low, unpaid, high));
+
+        List<Employee> employees = List.of(columns.materialize(0), columns.materialize(1), columns.materialize(2));
+        assertEquals("Should rebuild the name", "Sam High", employees.get(2).getEmployeeName());
+        assertEquals("Should rebuild the salary", 9000, employees.get(2).getEmployeeSalary());
+        assertEquals("Should rebuild the age", 25, employees.get(0).getEmployeeAge());
+        assertEquals("Should rebuild the profile image", "low.png", employees.get(0).getProfileImage());
+        assertNull("Should keep missing salaries empty", employees.get(1).getEmployeeSalary());
+        assertNull("Should keep missing names empty", employees.get(1).getEmployeeName());
+        assertEquals("Should return full employees when every field is selected",
+                Employee.class, columns.materialize(0, EnumSet.allOf(EmployeeField.class)).getClass());
+    }
+
+    @Test
+    void sortsRowsLikeTheEmployeeComparator() {
+        List<Employee> employees = List.of(low, mid, unpaid, high, tied, new Employee("6", "Abe", 5000, null, ""));
+        EmployeeColumns columns = EmployeeColumns.build(1, employees);
+        int[] allRows = {0, 1, 2, 3, 4, 5};
+        int[] someRows = {1, 2, 4, 5};
+
+        for (String sort : List.of("salary", "-salary", "age", "-age", "name", "-name", "id", "-id")) {
+            EmployeeSort employeeSort = EmployeeSort.parse(sort);
+            for (int[] rows : List.of(allRows, someRows)) {
+                List<String> expected = new ArrayList<>();
+                Arrays.stream(rows).mapToObj(employees::get).sorted(employeeSort.comparator()).forEach(e -> expected.add(e.getId()));
+                List<String> actual = new ArrayList<>();
+                Arrays.stream(columns.sortRows(rows, employeeSort)).forEach(row -> actual.add(columns.id(row)));
+                assertEquals("Should order rows by " + sort, expected, actual);
+            }
+        }
+    }
+
+    @Test
+    void returnsZeroForEmptyColumns() {
+        EmployeeColumns columns = EmployeeColumns.build(1, List.of());
+
+        assertEquals("Should return 0 salary", 0, columns.maxSalary());
+        assertEquals("Should return 0 percentile", 0, columns.salaryPercentile(99));
+        assertTrue("Should return no top rows", columns.topRowsBySalary(10).length == 0);
+    }
+}